@@ -0,0 +1,84 @@
+package tictactoe.game;
+
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
+import tictactoe.game.entity.Game.GameState;
+import tictactoe.game.entity.Game.PlayerNumber;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.entity.AppUser;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Games and services for the benchmarks, which run without Spring or a database.
+ */
+final class BenchmarkGames {
+
+    /**
+     * Nodes searched per move while playing a position out, enough for sensible moves and a quick setup.
+     */
+    private static final long SETUP_NODES = 2_000;
+
+    private BenchmarkGames() {}
+
+    /**
+     * @return a repository whose every call does nothing and returns null.
+     */
+    static GameRepository noOpRepository() {
+        return (GameRepository) Proxy.newProxyInstance(
+                GameRepository.class.getClassLoader(),
+                new Class<?>[]{GameRepository.class},
+                (proxy, method, args) -> null
+        );
+    }
+
+    /**
+     * @return properties for a repeatable search: no random fallback and no table of searched positions, which would
+     *         otherwise answer the same position from memory on every call after the first.
+     */
+    static ComputerPlayerProperties repeatableProperties() {
+        ComputerPlayerProperties properties = new ComputerPlayerProperties();
+        properties.setRandomFallback(false);
+        properties.setTranspositionTableMegabytes(0);
+        return properties;
+    }
+
+    /**
+     * The human opens and the computer plays both sides from there to the end of the game.
+     * @return every position of that game with the computer, O, to move and the game not yet over, in order.
+     */
+    static List<List<List<String>>> playOut(BoardVariant variant) {
+        GameService gameService = new GameService(noOpRepository());
+        ComputerPlayerService computer = new ComputerPlayerService(gameService, repeatableProperties());
+
+        Game game = gameService.create(new AppUser(), true, variant);
+        List<List<List<String>>> positions = new ArrayList<>();
+        for (int move = 0; game.getState() == GameState.IN_PROGRESS; move++) {
+            computer.takeTurn(game, MoveBudget.ofNodes(SETUP_NODES));
+            if (move % 2 == 0 && game.getState() == GameState.IN_PROGRESS) {
+                positions.add(copyRows(game.getRows()));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * @return a new game in the given position with the computer, O, to move.
+     */
+    static Game position(BoardVariant variant, ComputerEngine engine, List<List<String>> rows) {
+        Game game = new GameService(noOpRepository()).create(new AppUser(), true, variant, engine);
+        game.setRows(copyRows(rows));
+        game.setNextMove(PlayerNumber.PLAYER_2);
+        return game;
+    }
+
+    private static List<List<String>> copyRows(List<List<String>> rows) {
+        List<List<String>> copy = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            copy.add(new ArrayList<>(row));
+        }
+        return copy;
+    }
+}
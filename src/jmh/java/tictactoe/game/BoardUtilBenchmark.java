@@ -0,0 +1,29 @@
+package tictactoe.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardUtilBenchmark {
+
+    private final List<List<String>> rows = Arrays.asList(//@formatter:off
+            Arrays.asList("x", "o", ""),
+            Arrays.asList("", "x", ""),
+            Arrays.asList("o", "", "")
+    );//@formatter:on
+
+    @Benchmark
+    public List<List<String>> getAllPossibleLines() {
+        return BoardUtil.getAllPossibleLines(rows);
+    }
+}
@@ -0,0 +1,79 @@
+package tictactoe.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The computer's choice of move on each board, early, midway and late in a game it played against itself. The
+ * search is limited to a fixed number of nodes, so results do not depend on the machine's speed the way a time budget
+ * would.
+ *
+ * The move chosen is not played, so every call answers the same position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComputerPlayerServiceBenchmark {
+
+    /**
+     * Which position of a game the computer plays against itself to take, among those with O to move.
+     */
+    public enum Stage {
+        OPENING,
+        MIDGAME,
+        ENDGAME;
+
+        <T> T select(List<T> positions) {
+            switch (this) {
+                case OPENING: return positions.get(0);
+                case MIDGAME: return positions.get(positions.size() / 2);
+                default: return positions.get(positions.size() - 1);
+            }
+        }
+    }
+
+    private static final MoveBudget BUDGET = MoveBudget.ofNodes(20_000);
+
+    @Param({"CLASSIC", "FOUR_IN_A_ROW", "GOMOKU"})
+    BoardVariant variant;
+
+    @Param({"OPENING", "MIDGAME", "ENDGAME"})
+    Stage stage;
+
+    @Param({"ALPHA_BETA", "MCTS"})
+    ComputerEngine engine;
+
+    private ComputerPlayerService computerPlayerService;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        GameService fixedPosition = new GameService(BenchmarkGames.noOpRepository()) {
+            @Override
+            public void takeTurn(Game game, int tile) {
+                // leave the position as it is for the next call
+            }
+        };
+        computerPlayerService = new ComputerPlayerService(fixedPosition, BenchmarkGames.repeatableProperties());
+
+        game = BenchmarkGames.position(variant, engine, stage.select(BenchmarkGames.playOut(variant)));
+    }
+
+    @Benchmark
+    public Optional<ComputerMove> takeTurn() {
+        return computerPlayerService.takeTurn(game, BUDGET);
+    }
+}
@@ -0,0 +1,67 @@
+package tictactoe.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tictactoe.game.entity.Game;
+import tictactoe.user.entity.AppUser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Human moves as the controller plays them: a tile id parsed, placed and the game evaluated, on a new game each
+ * call. Saving does nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameServiceBenchmark {
+
+    /**
+     * A full 3x3 game that ends in a draw.
+     */
+    private static final String[] CLASSIC_DRAW = {"0-0", "1-1", "2-2", "0-1", "2-1", "2-0", "0-2", "1-2", "1-0"};
+
+    /**
+     * Tiles along rows 7 and 8 of a 15x15 board, alternating players so that no one wins.
+     */
+    private static final String[] GOMOKU_MOVES = new String[20];
+
+    static {
+        for (int move = 0; move < GOMOKU_MOVES.length; move++) {
+            GOMOKU_MOVES[move] = (7 + move / 15) + "-" + (move % 15);
+        }
+    }
+
+    private GameService gameService;
+
+    private AppUser appUser;
+
+    @Setup
+    public void setUp() {
+        gameService = new GameService(BenchmarkGames.noOpRepository());
+        appUser = new AppUser();
+    }
+
+    @Benchmark
+    public Game playClassicGame() {
+        return play(BoardVariant.CLASSIC, CLASSIC_DRAW);
+    }
+
+    @Benchmark
+    public Game playGomokuMoves() {
+        return play(BoardVariant.GOMOKU, GOMOKU_MOVES);
+    }
+
+    private Game play(BoardVariant variant, String[] tileIds) {
+        Game game = gameService.create(appUser, true, variant);
+        for (String tileId : tileIds) {
+            gameService.takeTurn(game, tileId);
+        }
+        return game;
+    }
+}
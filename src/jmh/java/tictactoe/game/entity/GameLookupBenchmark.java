@@ -0,0 +1,127 @@
+package tictactoe.game.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tictactoe.user.entity.AppUser;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a user's latest game from an in-memory H2 database as their game history grows: by its id, as
+ * {@link AppUser#getCurrentGameId()} points to it, and as their highest id game, with the (app_user_id, id) index of
+ * {@link Game} and with only the index of the foreign key to the user, as before it. Other users' games are mixed in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameLookupBenchmark {
+
+    private static final long USER_ID = 1;
+    private static final int OTHER_USERS = 100;
+    private static final int OTHER_GAMES = 10_000;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String COLUMNS = "id, app_user_id, board, state, next_move, move_count";
+
+    @Param({"1", "1000", "100000"})
+    int historySize;
+
+    private Connection connection;
+
+    private long currentGameId;
+
+    private PreparedStatement byId;
+
+    private PreparedStatement latestIndexed;
+
+    private PreparedStatement latestUnindexed;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"game", "game_without_index"}) {
+                statement.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, app_user_id BIGINT, "
+                        + "board VARBINARY(255), state INT, next_move INT, move_count INT)");
+            }
+            statement.execute("CREATE INDEX game_app_user_id_id ON game (app_user_id, id)");
+            statement.execute("CREATE INDEX game_without_index_app_user_id ON game_without_index (app_user_id)");
+        }
+
+        insertGames("game");
+        insertGames("game_without_index");
+        currentGameId = historySize + OTHER_GAMES;
+
+        byId = connection.prepareStatement("SELECT " + COLUMNS + " FROM game WHERE id = ?");
+        latestIndexed = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM game WHERE app_user_id = ? ORDER BY id DESC LIMIT 1");
+        latestUnindexed = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM game_without_index WHERE app_user_id = ? ORDER BY id DESC LIMIT 1");
+    }
+
+    /**
+     * The user's games spread among the others', the last id theirs.
+     */
+    private void insertGames(String table) throws SQLException {
+        int total = historySize + OTHER_GAMES;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= total; id++) {
+                boolean usersGame = id * historySize / total > (id - 1) * historySize / total;
+                insert.setLong(1, id);
+                insert.setLong(2, usersGame ? USER_ID : USER_ID + 1 + id % OTHER_USERS);
+                insert.setBytes(3, new byte[]{0, 0, 1, 1, 0});
+                insert.setInt(4, 0);
+                insert.setInt(5, 1);
+                insert.setInt(6, 5);
+                insert.addBatch();
+                if (id % INSERT_BATCH_SIZE == 0 || id == total) {
+                    insert.executeBatch();
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public byte[] currentGameById() throws SQLException {
+        byId.setLong(1, currentGameId);
+        return readBoard(byId);
+    }
+
+    @Benchmark
+    public byte[] latestGameIndexed() throws SQLException {
+        latestIndexed.setLong(1, USER_ID);
+        return readBoard(latestIndexed);
+    }
+
+    @Benchmark
+    public byte[] latestGameWithoutIndex() throws SQLException {
+        latestUnindexed.setLong(1, USER_ID);
+        return readBoard(latestUnindexed);
+    }
+
+    private static byte[] readBoard(PreparedStatement query) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            resultSet.next();
+            return resultSet.getBytes("board");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package tictactoe.game.entity;
+
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tictactoe.game.BoardVariant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Game#getRows()} to and from the bytes {@link BoardRowsConverter} saves them as, and to and from the JSON
+ * {@link JsonType} saved them as before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameRowsCodecBenchmark {
+
+    @Param({"CLASSIC", "FOUR_IN_A_ROW", "GOMOKU"})
+    BoardVariant variant;
+
+    private final BoardRowsConverter converter = new BoardRowsConverter();
+
+    private JavaTypeDescriptor<Object> rowsDescriptor;
+
+    private List<List<String>> rows;
+
+    private String json;
+
+    private byte[] board;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        JsonType jsonType = new JsonType(Game.class.getDeclaredField("rows").getGenericType());
+        rowsDescriptor = jsonType.getJavaTypeDescriptor();
+
+        // a third of the board filled, like a game in progress
+        rows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < variant.getRowCount(); rowIndex++) {
+            List<String> row = new ArrayList<>();
+            for (int columnIndex = 0; columnIndex < variant.getColumnCount(); columnIndex++) {
+                boolean placed = (rowIndex + 2 * columnIndex) % 3 == 0;
+                row.add(!placed ? "" : (rowIndex + columnIndex) % 2 == 0 ? "x" : "o");
+            }
+            rows.add(row);
+        }
+        json = rowsDescriptor.toString(rows);
+        board = converter.convertToDatabaseColumn(rows);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return converter.convertToDatabaseColumn(rows);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.convertToEntityAttribute(board);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return rowsDescriptor.toString(rows);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return rowsDescriptor.fromString(json);
+    }
+}
@@ -0,0 +1,62 @@
+package tictactoe;
+
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.entity.AppUser;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A {@link GameRepository} stand-in that keeps each user's latest game in memory, for running games without a
+ * database. It answers the calls {@link tictactoe.game.GameService} makes, save and find a user's latest, and throws
+ * {@link UnsupportedOperationException} for any other. SelfPlayArenaTest plays both engines on a classic and a larger
+ * board through it, so a new call fails the build rather than a self-play run.
+ *
+ * Not thread safe: give each thread its own.
+ */
+final class InMemoryGameRepository implements InvocationHandler {
+
+    private final Map<AppUser, Game> latestGames = new IdentityHashMap<>();
+
+    private long lastId;
+
+    private InMemoryGameRepository() {}
+
+    static GameRepository create() {
+        return (GameRepository) Proxy.newProxyInstance(
+                GameRepository.class.getClassLoader(),
+                new Class<?>[]{GameRepository.class},
+                new InMemoryGameRepository()
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+                return save((Game) args[0]);
+            case "findFirstByAppUserOrderByIdDesc":
+                return latestGames.get((AppUser) args[0]);
+            case "toString":
+                return "InMemoryGameRepository" + latestGames.keySet();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private Game save(Game game) {
+        if (game.getId() == null) {
+            game.setId(++lastId);
+        }
+        latestGames.put(game.getAppUser(), game);
+        return game;
+    }
+}
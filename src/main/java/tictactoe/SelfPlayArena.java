@@ -0,0 +1,296 @@
+package tictactoe;
+
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import tictactoe.game.BoardVariant;
+import tictactoe.game.ComputerMove;
+import tictactoe.game.ComputerPlayerProperties;
+import tictactoe.game.ComputerPlayerService;
+import tictactoe.game.GameService;
+import tictactoe.game.MoveBudget;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
+import tictactoe.game.entity.Game.GameState;
+import tictactoe.game.entity.Game.PlayerNumber;
+import tictactoe.user.entity.AppUser;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays the computer against itself, without the web app or a database, and reports how fast games go, how they end
+ * and how long each move took to choose.
+ *
+ * Games are shared out over the threads, each with its own {@link GameService}, {@link InMemoryGameRepository} and
+ * {@link ComputerPlayerService}. The two engines take turns at playing X, and every game opens with a few random
+ * moves so that the games differ. A thread's random choices come from its own {@link SplittableRandom}, split off the
+ * run's seed in thread order, so a run with the same options and no time limit plays the same games again.
+ *
+ * Options, each given as --name=value:
+ * <ul>
+ *     <li>games: how many games to play, 10000 by default.</li>
+ *     <li>threads: how many threads to play them on, all cores by default.</li>
+ *     <li>variant: the {@link BoardVariant}, CLASSIC by default.</li>
+ *     <li>engines: the two {@link ComputerEngine}s, comma separated, ALPHA_BETA,ALPHA_BETA by default.</li>
+ *     <li>nodes and millis: the {@link MoveBudget} of every move, 2000 nodes and no time limit by default.</li>
+ *     <li>random-openings: how many moves each game opens with at random, 1 by default.</li>
+ *     <li>table-megabytes: each thread's transposition table, 4 by default.</li>
+ *     <li>seed: the seed of the random choices, 1 by default.</li>
+ * </ul>
+ */
+public final class SelfPlayArena {
+
+    private static final String[] OUTCOMES = {"X won", "drawn", "O won"};
+
+    private final long games;
+    private final int threads;
+    private final BoardVariant variant;
+    private final ComputerEngine[] engines;
+    private final MoveBudget budget;
+    private final int randomOpenings;
+    private final ComputerPlayerProperties properties;
+    private final long seed;
+
+    SelfPlayArena(Map<String, String> options) {
+        Map<String, String> remaining = new HashMap<>(options);
+        this.games = Long.parseLong(take(remaining, "games", "10000"));
+        this.threads = Integer.parseInt(
+                take(remaining, "threads", String.valueOf(Runtime.getRuntime().availableProcessors()))
+        );
+        this.variant = BoardVariant.valueOf(take(remaining, "variant", BoardVariant.CLASSIC.name()));
+        this.budget = MoveBudget.of(
+                Long.parseLong(take(remaining, "millis", String.valueOf(MoveBudget.UNLIMITED_TIME))),
+                Long.parseLong(take(remaining, "nodes", "2000"))
+        );
+        this.randomOpenings = Integer.parseInt(take(remaining, "random-openings", "1"));
+        this.seed = Long.parseLong(take(remaining, "seed", "1"));
+
+        String[] engineNames = take(remaining, "engines", "ALPHA_BETA,ALPHA_BETA").split(",");
+        if (engineNames.length != 2) {
+            throw new IllegalArgumentException("Expected two engines, got: " + String.join(",", engineNames));
+        }
+        this.engines = new ComputerEngine[]{
+                ComputerEngine.valueOf(engineNames[0]), ComputerEngine.valueOf(engineNames[1])
+        };
+
+        this.properties = new ComputerPlayerProperties();
+        properties.setSearchThreads(1);
+        properties.setTranspositionTableMegabytes(Integer.parseInt(take(remaining, "table-megabytes", "4")));
+
+        if (games < 1 || threads < 1 || randomOpenings < 0) {
+            throw new IllegalArgumentException("games and threads must be positive, random-openings not negative");
+        }
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + remaining.keySet());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        // the computer player logs every move at debug, which is the default level outside the web app
+        LoggingSystem.get(SelfPlayArena.class.getClassLoader())
+                .setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+
+        new SelfPlayArena(parseOptions(args)).run(System.out);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Play every game and print the report.
+     * @return the results of all threads added together.
+     */
+    Results run(PrintStream out) throws InterruptedException, ExecutionException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Results>> workers = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            workers.add(new Worker(worker, seeds.split()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Results results = new Results();
+        long start = System.nanoTime();
+        try {
+            for (Future<Results> future : executor.invokeAll(workers)) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        report(out, results, elapsedNanos);
+        return results;
+    }
+
+    private void report(PrintStream out, Results results, long elapsedNanos) {
+        out.printf(Locale.ROOT, "%d games of %s, %s against %s, on %d threads, seed %d, %s a move%n",
+                games, variant, engines[0], engines[1], threads, seed, budget);
+        out.printf(Locale.ROOT, "%.1f games per second, %.2f s in all%n",
+                games / (elapsedNanos / 1e9), elapsedNanos / 1e9);
+
+        for (int pairing = 0; pairing < 2; pairing++) {
+            long[] outcomes = results.outcomes[pairing];
+            long pairingGames = outcomes[0] + outcomes[1] + outcomes[2];
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s as X, %s as O, %d games:",
+                    engines[pairing], engines[1 - pairing], pairingGames));
+            for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                line.append(String.format(Locale.ROOT, " %s %.2f%%", OUTCOMES[outcome],
+                        pairingGames == 0 ? 0 : 100.0 * outcomes[outcome] / pairingGames));
+            }
+            out.println(line);
+        }
+
+        results.latencies.forEach((engine, latencies) -> out.printf(Locale.ROOT,
+                "%s moves: %d, microseconds mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                engine, latencies.getCount(), latencies.getMean() / 1e3,
+                latencies.getPercentile(50) / 1e3, latencies.getPercentile(90) / 1e3,
+                latencies.getPercentile(99) / 1e3, latencies.getPercentile(99.9) / 1e3,
+                latencies.getMax() / 1e3));
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Game outcomes and move latencies, of one thread or of them all.
+     */
+    static final class Results {
+
+        /**
+         * {@code outcomes[pairing][outcome]}, pairing 0 being the first engine as X and outcome an index into
+         * {@link #OUTCOMES}.
+         */
+        final long[][] outcomes = new long[2][OUTCOMES.length];
+
+        final Map<ComputerEngine, LatencyHistogram> latencies = new EnumMap<>(ComputerEngine.class);
+
+        long getGames() {
+            return outcomes[0][0] + outcomes[0][1] + outcomes[0][2] + outcomes[1][0] + outcomes[1][1] + outcomes[1][2];
+        }
+
+        private void add(Results other) {
+            for (int pairing = 0; pairing < 2; pairing++) {
+                for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                    outcomes[pairing][outcome] += other.outcomes[pairing][outcome];
+                }
+            }
+            other.latencies.forEach((engine, histogram) -> getLatencies(engine).add(histogram));
+        }
+
+        private LatencyHistogram getLatencies(ComputerEngine engine) {
+            return latencies.computeIfAbsent(engine, e -> new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Plays games worker, worker + threads, worker + 2 * threads... the even ones with the first engine as X.
+     */
+    private final class Worker implements Callable<Results> {
+
+        private final int worker;
+        private final SplittableRandom random;
+
+        private Worker(int worker, SplittableRandom random) {
+            this.worker = worker;
+            this.random = random;
+        }
+
+        @Override
+        public Results call() {
+            GameService gameService = new GameService(InMemoryGameRepository.create());
+            ComputerPlayerService computerPlayerService =
+                    new ComputerPlayerService(gameService, properties, random.nextLong());
+            AppUser appUser = new AppUser();
+            appUser.setUsername("arena-" + worker);
+
+            Results results = new Results();
+            for (long gameIndex = worker; gameIndex < games; gameIndex += threads) {
+                int pairing = (int) (gameIndex % 2);
+                Game game = play(gameService, computerPlayerService, appUser, pairing, results);
+                results.outcomes[pairing][outcomeOf(game.getState())]++;
+            }
+            return results;
+        }
+
+        private Game play(
+                GameService gameService, ComputerPlayerService computerPlayerService, AppUser appUser, int pairing,
+                Results results
+        ) {
+            ComputerEngine xEngine = engines[pairing];
+            ComputerEngine oEngine = engines[1 - pairing];
+
+            Game game = gameService.create(appUser, true, variant);
+            for (int move = 0; move < randomOpenings && game.getState() == GameState.IN_PROGRESS; move++) {
+                gameService.takeTurn(game, randomEmptyTile(game));
+            }
+
+            while (game.getState() == GameState.IN_PROGRESS) {
+                ComputerEngine engine = game.getNextMove() == PlayerNumber.PLAYER_1 ? xEngine : oEngine;
+                game.setComputerEngine(engine);
+
+                Optional<ComputerMove> move = computerPlayerService.takeTurn(game, budget);
+                if (move.isEmpty()) {
+                    throw new IllegalStateException("No move chosen in a game in progress: " + game.getRows());
+                }
+                results.getLatencies(engine).record(move.get().getElapsedNanos());
+            }
+            return game;
+        }
+
+        private int randomEmptyTile(Game game) {
+            List<List<String>> rows = game.getRows();
+            int columnCount = rows.get(0).size();
+
+            int emptyTiles = 0;
+            for (List<String> row : rows) {
+                for (String tile : row) {
+                    emptyTiles += tile.isEmpty() ? 1 : 0;
+                }
+            }
+
+            int skip = random.nextInt(emptyTiles);
+            for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+                List<String> row = rows.get(rowIndex);
+                for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                    if (row.get(columnIndex).isEmpty() && skip-- == 0) {
+                        return rowIndex * columnCount + columnIndex;
+                    }
+                }
+            }
+            throw new IllegalStateException("No empty tile in a game in progress: " + rows);
+        }
+    }
+
+    private static int outcomeOf(GameState state) {
+        switch (state) {
+            case PLAYER_1_WIN: return 0;
+            case DRAW: return 1;
+            case PLAYER_2_WIN: return 2;
+            default: throw new IllegalStateException("Game not over: " + state);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package tictactoe;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+
+/**
+ * Time spent in each stage of one request, sent back in its Server-Timing header by {@link ServerTimingFilter}.
+ * Stages that run more than once in a request add up.
+ *
+ * Stages are recorded with {@link #record(Stage, long)} against the current request, and only when the filter has
+ * set it up, so calls cost next to nothing when the header is turned off. Not thread safe: record from the request's
+ * own thread.
+ */
+public final class ServerTiming {
+
+    public enum Stage {
+        USER("user", "User lookup"),
+        LOAD("load", "Game load"),
+        HUMAN("human", "Human move"),
+        COMPUTER("computer", "Computer move"),
+        PERSIST("db", "Persistence"),
+        RENDER("render", "Render"),
+        TOTAL("total", "Total");
+
+        private final String metricName;
+        private final String description;
+
+        Stage(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    static final String HEADER = "Server-Timing";
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final long[] nanos = new long[STAGES.length];
+    private int recordedStages;
+
+    /**
+     * Add the time since start to the stage of the current request, if it is timed.
+     * @param startNanos the {@link System#nanoTime()} the stage began at.
+     */
+    public static void record(Stage stage, long startNanos) {
+        recordElapsed(stage, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Add the time to the stage of the current request, if it is timed.
+     */
+    public static void recordElapsed(Stage stage, long elapsedNanos) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            ServerTiming timing = (ServerTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (timing != null) {
+                timing.add(stage, elapsedNanos);
+            }
+        }
+    }
+
+    void add(Stage stage, long elapsedNanos) {
+        nanos[stage.ordinal()] += elapsedNanos;
+        recordedStages |= 1 << stage.ordinal();
+    }
+
+    /**
+     * @return the recorded stages in {@link Stage} order, eg. {@code user;desc="User lookup";dur=0.412}, durations in
+     *         milliseconds.
+     */
+    String toHeaderValue() {
+        StringBuilder value = new StringBuilder();
+        for (Stage stage : STAGES) {
+            if ((recordedStages & 1 << stage.ordinal()) != 0) {
+                if (value.length() > 0) {
+                    value.append(", ");
+                }
+                value.append(String.format(Locale.ROOT, "%s;desc=\"%s\";dur=%.3f",
+                        stage.metricName, stage.description, nanos[stage.ordinal()] / 1e6));
+            }
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package tictactoe;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Sets up a {@link ServerTiming} for each request to the game page and sends it back as the Server-Timing header.
+ * The response body is held back until the request is done, so the header can include the time the view took to
+ * render.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"/".equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        ServerTiming timing = new ServerTiming();
+        request.setAttribute(ServerTiming.ATTRIBUTE, timing);
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } finally {
+            timing.add(ServerTiming.Stage.TOTAL, System.nanoTime() - start);
+            if (!cachingResponse.isCommitted()) {
+                cachingResponse.setHeader(ServerTiming.HEADER, timing.toHeaderValue());
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+}
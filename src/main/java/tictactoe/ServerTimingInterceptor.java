@@ -0,0 +1,33 @@
+package tictactoe;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Times the view's rendering, from the end of the controller method until the request completes, for
+ * {@link ServerTiming}.
+ */
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    private static final String RENDER_START = ServerTimingInterceptor.class.getName() + ".renderStart";
+
+    @Override
+    public void postHandle(
+            HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView
+    ) {
+        request.setAttribute(RENDER_START, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception
+    ) {
+        Object renderStart = request.getAttribute(RENDER_START);
+        if (renderStart != null) {
+            ServerTiming.record(ServerTiming.Stage.RENDER, (Long) renderStart);
+        }
+    }
+}
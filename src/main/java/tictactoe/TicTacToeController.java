@@ -1,5 +1,7 @@
 package tictactoe;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
@@ -7,14 +9,19 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import tictactoe.ServerTiming.Stage;
+import tictactoe.game.BoardVariant;
+import tictactoe.game.ComputerMove;
 import tictactoe.game.ComputerPlayerService;
 import tictactoe.game.GameService;
 import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
 import tictactoe.game.entity.Game.PlayerType;
+import tictactoe.user.AppUserCache;
 import tictactoe.user.entity.AppUser;
-import tictactoe.user.entity.AppUserRepository;
 
 import java.security.Principal;
+import java.util.Optional;
 
 @Controller
 public class TicTacToeController {
@@ -23,14 +30,21 @@ public class TicTacToeController {
 
     private final ComputerPlayerService computerPlayerService;
 
-    private final AppUserRepository appUserRepository;
+    private final AppUserCache appUserCache;
+
+    private final Timer turnsTimer;
 
     @Autowired
-    public TicTacToeController(GameService gameService, ComputerPlayerService computerPlayerService, AppUserRepository appUserRepository)
-    {
+    public TicTacToeController(
+            GameService gameService, ComputerPlayerService computerPlayerService, AppUserCache appUserCache,
+            MeterRegistry meterRegistry
+    ) {
         this.gameService = gameService;
         this.computerPlayerService = computerPlayerService;
-        this.appUserRepository = appUserRepository;
+        this.appUserCache = appUserCache;
+        this.turnsTimer = Timer.builder("tictactoe.turns")
+                .description("Time to handle a move or new game request, the computer's reply included")
+                .register(meterRegistry);
     }
 
     @GetMapping(value = "/login")
@@ -42,7 +56,7 @@ public class TicTacToeController {
     public String index(Principal principal, Model model) {
         AppUser appUser = getAppUser(principal);
 
-        Game game = gameService.getLastGame(appUser);
+        Game game = getLastGame(appUser);
         if (game == null) {
             game = gameService.create(appUser, true);
         }
@@ -58,27 +72,63 @@ public class TicTacToeController {
             Principal principal,
             @RequestParam("tile_id") String tileId,
             @RequestParam(value = "new_game", required = false, defaultValue = "false") boolean newGame,
-            @RequestParam(value = "player_go_first", required = false, defaultValue = "false") boolean playerGoFirst
+            @RequestParam(value = "player_go_first", required = false, defaultValue = "false") boolean playerGoFirst,
+            @RequestParam(value = "board_variant", required = false, defaultValue = "CLASSIC") BoardVariant boardVariant,
+            @RequestParam(value = "computer_engine", required = false, defaultValue = "ALPHA_BETA") ComputerEngine computerEngine
+    ) {
+        TurnsHandledEvent event = new TurnsHandledEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start();
+        try {
+            Game game = playTurns(principal, tileId, newGame, playerGoFirst, boardVariant, computerEngine);
+            setModelGameAttributes(model, game);
+
+            if (event.shouldCommit()) {
+                event.gameId = game.getId() == null ? 0 : game.getId();
+                event.newGame = newGame;
+                event.tileId = tileId;
+                event.state = game.getState().name();
+                event.commit();
+            }
+        } finally {
+            sample.stop(turnsTimer);
+        }
+
+        return "index";
+    }
+
+    private Game playTurns(
+            Principal principal, String tileId, boolean newGame, boolean playerGoFirst, BoardVariant boardVariant,
+            ComputerEngine computerEngine
     ) {
         AppUser appUser = getAppUser(principal);
 
         Game game;
         if (newGame) {
-            game = gameService.create(appUser, playerGoFirst);
-
-            if (!playerGoFirst) {
-                // give computer a small advantage by always placing X in the center as its first move
-                gameService.takeTurn(game, "1-1");
-            }
+            game = playerGoFirst
+                    ? gameService.create(appUser, true, boardVariant, computerEngine)
+                    : gameService.createComputerFirst(appUser, boardVariant, computerEngine);
         } else {
-            game = gameService.getLastGame(appUser);
-            gameService.takeTurn(game, tileId); // Player Turn
-            computerPlayerService.takeTurn(game); // Computer Turn
+            game = getLastGame(appUser);
+
+            // Player Turn and Computer Turn, saved together; the human move and the save are timed by the service
+            gameService.takeTurns(game, gameService.parseTileId(game, tileId), this::chooseComputerMove);
         }
+        return game;
+    }
 
-        setModelGameAttributes(model, game);
+    private Optional<ComputerMove> chooseComputerMove(Game game) {
+        long start = System.nanoTime();
+        Optional<ComputerMove> move = computerPlayerService.chooseMove(game);
+        ServerTiming.record(Stage.COMPUTER, start);
+        return move;
+    }
 
-        return "index";
+    private Game getLastGame(AppUser appUser) {
+        long start = System.nanoTime();
+        Game game = gameService.getLastGame(appUser);
+        ServerTiming.record(Stage.LOAD, start);
+        return game;
     }
 
     private void setModelGameAttributes(Model model, Game game) {
@@ -103,11 +153,27 @@ public class TicTacToeController {
 
         model.addAttribute("playerGoFirst", playerGoFirst);
         model.addAttribute("playStatus", playerStatus);
-        model.addAttribute("board", game.getRows());
+        model.addAttribute("board", gameService.copyRows(game));
+        model.addAttribute("boardVariant", getBoardVariant(game));
+        model.addAttribute("computerEngine",
+                game.getComputerEngine() == null ? ComputerEngine.ALPHA_BETA.name() : game.getComputerEngine().name());
+    }
+
+    private String getBoardVariant(Game game) {
+        for (BoardVariant variant : BoardVariant.values()) {
+            if (variant.getRowCount() == game.getRows().size()
+                    && variant.getColumnCount() == game.getRows().get(0).size()
+                    && (game.getWinLength() == null || variant.getWinLength() == game.getWinLength())) {
+                return variant.name();
+            }
+        }
+        return BoardVariant.CLASSIC.name();
     }
 
     private AppUser getAppUser(Principal principal) {
-        AppUser appUser = appUserRepository.findByUsername(principal.getName());
+        long start = System.nanoTime();
+        AppUser appUser = appUserCache.findByUsername(principal.getName());
+        ServerTiming.record(Stage.USER, start);
         if (appUser == null) {
             throw new UsernameNotFoundException("Invalid username: " + principal.getName());
         }
@@ -0,0 +1,31 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a move or new game request to {@link TicTacToeController}, the computer's reply included.
+ */
+@Name("tictactoe.TurnsHandled")
+@Label("Turns Handled")
+@Category({"Tic Tac Toe", "Web"})
+@Description("A move or new game request, from loading the user to the model ready to render")
+@StackTrace(false)
+final class TurnsHandledEvent extends Event {
+
+    @Label("Game Id")
+    long gameId;
+
+    @Label("New Game")
+    boolean newGame;
+
+    @Label("Tile Id")
+    String tileId;
+
+    @Label("Game State")
+    String state;
+}
@@ -1,12 +1,14 @@
 package tictactoe.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import tictactoe.user.AppUserDetailsService;
+import tictactoe.user.BoundedPasswordEncoder;
 
 @Configuration
 @EnableWebSecurity
@@ -14,14 +16,17 @@ public class AppConfigSecurity extends WebSecurityConfigurerAdapter {
 
     private final AppUserDetailsService userDetailsService;
 
+    private final BoundedPasswordEncoder passwordEncoder;
+
     @Autowired
-    public AppConfigSecurity(AppUserDetailsService userDetailsService) {
+    public AppConfigSecurity(AppUserDetailsService userDetailsService, BoundedPasswordEncoder passwordEncoder) {
         this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(this.userDetailsService).passwordEncoder(AppUserDetailsService.PASSWORD_ENCODER);
+        auth.userDetailsService(this.userDetailsService).passwordEncoder(this.passwordEncoder);
     }
 
     @Override
@@ -30,6 +35,7 @@ public class AppConfigSecurity extends WebSecurityConfigurerAdapter {
         http
                 .authorizeRequests()
                     .antMatchers("/css/*", "/images/*", "/js/*").permitAll()
+                    .requestMatchers(EndpointRequest.to("health")).permitAll()
                     .anyRequest().authenticated()
                     .and()
                 .formLogin()
@@ -40,7 +46,10 @@ public class AppConfigSecurity extends WebSecurityConfigurerAdapter {
                     .permitAll()
                     .deleteCookies("JSESSIONID")
                     .and()
-                .rememberMe();
+                .rememberMe()
+                    .and()
+                // for Prometheus to log in to the scrape endpoint
+                .httpBasic();
         //@formatter:on
     }
 }
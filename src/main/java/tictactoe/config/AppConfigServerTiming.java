@@ -0,0 +1,35 @@
+package tictactoe.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tictactoe.ServerTimingFilter;
+import tictactoe.ServerTimingInterceptor;
+
+/**
+ * Adds a Server-Timing header to game page responses, when "tictactoe.server-timing.enabled" is true. Off by default,
+ * to be turned on for the environments where the breakdown should be visible in the browser.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tictactoe.server-timing.enabled", havingValue = "true")
+public class AppConfigServerTiming implements WebMvcConfigurer {
+
+    /**
+     * Ahead of every other filter, so that the total covers security too.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor());
+    }
+}
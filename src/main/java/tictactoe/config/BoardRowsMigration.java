@@ -0,0 +1,85 @@
+package tictactoe.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tictactoe.game.entity.BoardRowsConverter;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves boards saved as JSON, in the "rows" column of games from before {@link BoardRowsConverter}, to the "board"
+ * column in its encoding, a batch of games at a time, and empties their JSON. Runs at startup ahead of anything else,
+ * and does nothing once no JSON is left or on a database that never had the column.
+ */
+@Component
+@Order(0)
+public class BoardRowsMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardRowsMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final TypeReference<List<List<String>>> ROWS_TYPE = new TypeReference<List<List<String>>>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoardRowsConverter converter = new BoardRowsConverter();
+
+    @Autowired
+    public BoardRowsMigration(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!Objects.requireNonNull(jdbcTemplate.execute(BoardRowsMigration::hasJsonRowsColumn))) {
+            return;
+        }
+
+        int migrated = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "select id, rows from game where rows is not null order by id limit " + BATCH_SIZE,
+                    (resultSet, rowNumber) -> new Object[]{toBoard(resultSet.getString(2)), resultSet.getLong(1)}
+            );
+            jdbcTemplate.batchUpdate("update game set board = ?, rows = null where id = ?", batch);
+            migrated += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        if (migrated > 0) {
+            logger.info("Moved {} boards from JSON to the board column", migrated);
+        }
+    }
+
+    private byte[] toBoard(String json) {
+        try {
+            return converter.convertToDatabaseColumn(objectMapper.readValue(json, ROWS_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Saved board is not JSON rows: " + json, e);
+        }
+    }
+
+    private static boolean hasJsonRowsColumn(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String table = metaData.storesUpperCaseIdentifiers() ? "GAME" : "game";
+        String column = metaData.storesUpperCaseIdentifiers() ? "ROWS" : "rows";
+        try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -4,11 +4,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import tictactoe.user.AppUserDetailsService;
+import tictactoe.user.UserImportProperties;
+import tictactoe.user.UserImporter;
 import tictactoe.user.entity.AppUser;
 import tictactoe.user.entity.AppUserRepository;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
 @Component
 public class DatabaseLoader implements CommandLineRunner {
 
@@ -16,21 +21,37 @@ public class DatabaseLoader implements CommandLineRunner {
 
     private final AppUserRepository repository;
 
+    private final PasswordEncoder passwordEncoder;
+
+    private final UserImporter userImporter;
+
+    private final UserImportProperties importProperties;
+
     @Autowired
-    public DatabaseLoader(AppUserRepository repository) {
+    public DatabaseLoader(
+            AppUserRepository repository, PasswordEncoder passwordEncoder, UserImporter userImporter,
+            UserImportProperties importProperties
+    ) {
         this.repository = repository;
+        this.passwordEncoder = passwordEncoder;
+        this.userImporter = userImporter;
+        this.importProperties = importProperties;
     }
 
     @Override
-    public void run(String... args) {
+    public void run(String... args) throws IOException, InterruptedException {
         createUser("horatio", "hertz");
         createUser("kevin", "1reland");
+
+        if (importProperties.getFile() != null) {
+            userImporter.importFile(Paths.get(importProperties.getFile()));
+        }
     }
 
     private void createUser(String username, String password) {
         AppUser user = new AppUser();
         user.setUsername(username);
-        user.setPassword(AppUserDetailsService.PASSWORD_ENCODER.encode(password));
+        user.setPassword(passwordEncoder.encode(password));
 
         repository.save(user);
 
@@ -0,0 +1,480 @@
+package tictactoe.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.entity.AppUser;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Where {@link GameService} loads and saves games, through the {@link GameEventStore}.
+ *
+ * Made with only a repository, or with a max games of 0, it passes every call straight through. Otherwise it writes
+ * behind: each user's latest game is kept in memory, up to the max games, and a new game or the moves placed on one
+ * are only queued to be written. A daemon thread writes the queued games and moves every flush interval, a batch of
+ * users to each transaction, and whatever is left is written on shutdown. The database is then off the path of a
+ * move, at the cost of losing the last flush interval's moves if the server dies.
+ *
+ * A game waiting to be written, or being written, stays the one loaded for its user even if it has dropped out of
+ * memory, so a load never sees older moves than those already made. What is written is a copy of the game taken when
+ * the write was queued, as the game itself is shared with the requests still playing it.
+ *
+ * A write that keeps failing is retried on its own, its user's writes alone in a transaction, up to the max write
+ * attempts, and then logged and dropped, so that it neither holds back other users' writes nor fills the queue.
+ *
+ * No more than the max pending writes are queued: past that, while the database is too slow or down to keep up, new
+ * games and moves are turned away by {@link #checkCapacity()} until a flush gets through.
+ */
+@Component
+public class ActiveGameCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveGameCache.class);
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    /**
+     * A write queued for a user, linked to the one queued before it.
+     */
+    private static final class PendingWrite {
+
+        /**
+         * The game as its user plays it, whose id the write gives it when it is new.
+         */
+        final Game game;
+
+        /**
+         * The game as it was when the write was queued, which is what is written.
+         */
+        final Game snapshot;
+
+        /**
+         * The game's id when the write was queued, null if it was not yet inserted.
+         */
+        final Long gameId;
+
+        /**
+         * The number of the first move, or 0 for a new game.
+         */
+        final int firstMoveNumber;
+        final int[] tiles;
+        final PendingWrite previous;
+
+        /**
+         * Flushes that failed to write it on its own, its user's writes alone in the transaction. Only the flush
+         * thread reads and changes it.
+         */
+        int attempts;
+
+        PendingWrite(Game game, Game snapshot, int firstMoveNumber, int[] tiles, PendingWrite previous) {
+            this.game = game;
+            this.snapshot = snapshot;
+            this.gameId = snapshot.getId();
+            this.firstMoveNumber = firstMoveNumber;
+            this.tiles = tiles;
+            this.previous = previous;
+        }
+
+        /**
+         * @return this write alone, queued after earlier, its attempts kept.
+         */
+        PendingWrite queuedAfter(PendingWrite earlier) {
+            PendingWrite write = new PendingWrite(game, snapshot, firstMoveNumber, tiles, earlier);
+            write.attempts = attempts;
+            return write;
+        }
+
+        /**
+         * @return the same writes queued after earlier's.
+         */
+        PendingWrite after(PendingWrite earlier) {
+            PendingWrite joined = earlier;
+            for (PendingWrite write : inOrder()) {
+                joined = write.queuedAfter(joined);
+            }
+            return joined;
+        }
+
+        /**
+         * @return this write and those before it, oldest first.
+         */
+        Deque<PendingWrite> inOrder() {
+            Deque<PendingWrite> writes = new ArrayDeque<>();
+            for (PendingWrite write = this; write != null; write = write.previous) {
+                writes.addFirst(write);
+            }
+            return writes;
+        }
+    }
+
+    private final GameEventStore eventStore;
+    private final GameRepository gameRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxPendingWrites;
+    private final int maxWriteAttempts;
+
+    /**
+     * Each user's latest game by user id, least recently played first. Null when writes are not held back. Guarded by
+     * itself.
+     */
+    private final Map<Long, Game> latestGames;
+
+    /**
+     * Writes queued since the last flush, by user id, the latest of each user's linked to the rest.
+     */
+    private final ConcurrentMap<Long, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Writes queued and not yet written, those of the batch being written included.
+     */
+    private final AtomicInteger pendingWriteCount = new AtomicInteger();
+
+    /**
+     * The latest game of each user whose writes the batch being written took, until its transaction is over.
+     */
+    private final ConcurrentMap<Long, Game> flushingGames = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushExecutor;
+
+    /**
+     * A cache that saves every game and move as soon as it is asked to, and keeps none, without a move log.
+     */
+    public ActiveGameCache(GameRepository gameRepository) {
+        this(new GameEventStore(gameRepository), gameRepository, null, writeThroughProperties());
+    }
+
+    @Autowired
+    public ActiveGameCache(
+            GameEventStore eventStore, GameRepository gameRepository, PlatformTransactionManager transactionManager,
+            GameCacheProperties properties
+    ) {
+        this.eventStore = eventStore;
+        this.gameRepository = gameRepository;
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+        this.maxPendingWrites = properties.getMaxPendingWrites();
+        this.maxWriteAttempts = Math.max(1, properties.getMaxWriteAttempts());
+
+        int maxGames = properties.getMaxGames();
+        if (maxGames <= 0) {
+            this.latestGames = null;
+            this.flushExecutor = null;
+            return;
+        }
+
+        this.latestGames = new LinkedHashMap<Long, Game>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Game> eldest) {
+                return size() > maxGames;
+            }
+        };
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-cache-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushIntervalMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static GameCacheProperties writeThroughProperties() {
+        GameCacheProperties properties = new GameCacheProperties();
+        properties.setMaxGames(0);
+        return properties;
+    }
+
+    /**
+     * @return the user's latest game, or null if they have none.
+     */
+    Game getLatest(AppUser appUser) {
+        if (latestGames == null) {
+            return eventStore.loadLatest(appUser);
+        }
+
+        Long userId = appUser.getId();
+        Game game;
+        synchronized (latestGames) {
+            game = latestGames.get(userId);
+        }
+        if (game != null) {
+            return game;
+        }
+
+        PendingWrite pending = pendingWrites.get(userId);
+        game = pending == null ? flushingGames.get(userId) : pending.game;
+        if (game == null) {
+            game = eventStore.loadLatest(appUser);
+            if (game == null) {
+                return null;
+            }
+        }
+
+        synchronized (latestGames) {
+            Game cached = latestGames.putIfAbsent(userId, game);
+            return cached == null ? game : cached;
+        }
+    }
+
+    /**
+     * Save a new game, which becomes the user's latest.
+     */
+    void create(Game game) {
+        if (latestGames == null) {
+            inTransaction(() -> eventStore.create(game));
+        } else {
+            hold(game, 0, null);
+        }
+    }
+
+    /**
+     * Save the moves placed on a game since it was last saved.
+     * @param tiles the moves, in the order they were placed.
+     */
+    void save(Game game, int... tiles) {
+        int firstMoveNumber = GameService.getMoveCount(game) - tiles.length + 1;
+        if (latestGames == null) {
+            inTransaction(() -> eventStore.append(game, firstMoveNumber, tiles));
+        } else {
+            hold(game, firstMoveNumber, tiles);
+        }
+    }
+
+    /**
+     * Called before a game is created or a move placed, so that one turned away is not left half made in memory.
+     * @throws IllegalStateException if the max pending writes are waiting to be written.
+     */
+    void checkCapacity() {
+        if (latestGames != null && pendingWriteCount.get() >= maxPendingWrites) {
+            throw new IllegalStateException(
+                    "Games not saved: " + pendingWriteCount.get() + " writes are waiting for the database"
+            );
+        }
+    }
+
+    private void inTransaction(Runnable write) {
+        if (transactionTemplate == null) {
+            write.run();
+        } else {
+            transactionTemplate.executeWithoutResult(status -> write.run());
+        }
+    }
+
+    private void hold(Game game, int firstMoveNumber, int[] tiles) {
+        Long userId = game.getAppUser().getId();
+        synchronized (latestGames) {
+            latestGames.put(userId, game);
+        }
+        Game snapshot = snapshotOf(game);
+        pendingWrites.compute(
+                userId, (id, previous) -> new PendingWrite(game, snapshot, firstMoveNumber, tiles, previous)
+        );
+        pendingWriteCount.incrementAndGet();
+    }
+
+    /**
+     * @return a copy of the game, its rows copied too, for the user's requests to go on changing the game.
+     */
+    private static Game snapshotOf(Game game) {
+        Game snapshot = new Game();
+        snapshot.setId(game.getId());
+        snapshot.setAppUser(game.getAppUser());
+        snapshot.setPlayer1Type(game.getPlayer1Type());
+        snapshot.setPlayer2Type(game.getPlayer2Type());
+        snapshot.setNextMove(game.getNextMove());
+        snapshot.setState(game.getState());
+        snapshot.setRows(BoardUtil.copyRows(game.getRows()));
+        snapshot.setWinLength(game.getWinLength());
+        snapshot.setComputerEngine(game.getComputerEngine());
+        snapshot.setMoveCount(game.getMoveCount());
+        return snapshot;
+    }
+
+    /**
+     * Write what was queued up to now, a batch of users to a transaction. When a batch fails, its users are written
+     * again one to a transaction, so that a write that cannot succeed holds back only its own user. A user's writes that
+     * fail alone are queued again ahead of anything queued since, to be written by the next flush, until the max write
+     * attempts: then they are logged and dropped.
+     */
+    void flush() {
+        if (latestGames == null) {
+            return;
+        }
+
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        for (Long userId : new ArrayList<>(pendingWrites.keySet())) {
+            PendingWrite pending = pendingWrites.get(userId);
+            if (pending == null) {
+                continue;
+            }
+
+            // seen as flushing before it stops being pending, so a load in between still finds it
+            flushingGames.put(userId, pending.game);
+            if (pendingWrites.remove(userId, pending)) {
+                batch.add(pending);
+            } else {
+                flushingGames.remove(userId, pending.game);
+            }
+
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        try {
+            try {
+                writeInTransaction(batch);
+            } catch (RuntimeException e) {
+                if (batch.size() == 1) {
+                    failed(batch.get(0), e);
+                    return;
+                }
+
+                logger.warn("Could not write the games of {} users, writing them one user at a time", batch.size(), e);
+                for (PendingWrite pending : batch) {
+                    try {
+                        writeInTransaction(Collections.singletonList(pending));
+                    } catch (RuntimeException userFailure) {
+                        failed(pending, userFailure);
+                    }
+                }
+            }
+        } finally {
+            for (PendingWrite pending : batch) {
+                flushingGames.remove(pending.game.getAppUser().getId(), pending.game);
+            }
+        }
+    }
+
+    /**
+     * Games already saved are loaded in one query first, so that snapshotting them does not look each one up. A new
+     * game's id goes to the copies of the writes after it, and to its user's game once the transaction commits, under
+     * the game's lock as the user's requests read it under theirs.
+     */
+    private void writeInTransaction(List<PendingWrite> batch) {
+        Map<Game, Long> createdIds = new IdentityHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            createdIds.clear();
+            List<Long> savedIds = new ArrayList<>(batch.size());
+            for (PendingWrite pending : batch) {
+                for (PendingWrite write : pending.inOrder()) {
+                    if (write.gameId != null) {
+                        savedIds.add(write.gameId);
+                        break;
+                    }
+                }
+            }
+            gameRepository.findAllById(savedIds);
+
+            for (PendingWrite pending : batch) {
+                Long createdId = null;
+                for (PendingWrite write : pending.inOrder()) {
+                    if (write.tiles == null) {
+                        // a copy whose insert rolled back is inserted again
+                        write.snapshot.setId(null);
+                        eventStore.create(write.snapshot);
+                        createdId = write.snapshot.getId();
+                        createdIds.put(write.game, createdId);
+                    } else {
+                        write.snapshot.setId(createdId != null ? createdId : savedIdOf(write));
+                        eventStore.append(write.snapshot, write.firstMoveNumber, write.tiles);
+                    }
+                }
+            }
+        });
+
+        for (Map.Entry<Game, Long> created : createdIds.entrySet()) {
+            Game game = created.getKey();
+            synchronized (game) {
+                game.setId(created.getValue());
+            }
+        }
+        int writeCount = 0;
+        for (PendingWrite pending : batch) {
+            writeCount += pending.inOrder().size();
+        }
+        pendingWriteCount.addAndGet(-writeCount);
+    }
+
+    /**
+     * @return the id of the game the moves are placed on: the one it had when they were queued or, if its insert was
+     *         still being written then, the one it was given since.
+     */
+    private static Long savedIdOf(PendingWrite write) {
+        if (write.gameId != null) {
+            return write.gameId;
+        }
+        synchronized (write.game) {
+            return write.game.getId();
+        }
+    }
+
+    /**
+     * Count a failed attempt at each of the user's writes, drop those that reached the max write attempts, the oldest,
+     * and queue the rest again.
+     */
+    private void failed(PendingWrite pending, RuntimeException e) {
+        Long userId = pending.game.getAppUser().getId();
+        PendingWrite kept = null;
+        int dropped = 0;
+        for (PendingWrite write : pending.inOrder()) {
+            write.attempts++;
+            if (write.attempts < maxWriteAttempts) {
+                kept = write.queuedAfter(kept);
+            } else {
+                dropped++;
+                logger.error(
+                        "Dropped the write of game {} of user {} from move {} after {} attempts",
+                        write.gameId, userId, write.firstMoveNumber, write.attempts, e
+                );
+            }
+        }
+        pendingWriteCount.addAndGet(-dropped);
+
+        if (kept != null) {
+            logger.error("Could not write the games of user {}, they are kept for the next flush", userId, e);
+            pendingWrites.merge(userId, kept, (newer, failed) -> newer.after(failed));
+        }
+    }
+
+    /**
+     * Stop flushing on a schedule and write everything still queued.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (flushExecutor == null) {
+            return;
+        }
+
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("Scheduled flush still running after {} s", SHUTDOWN_WAIT_SECONDS);
+        }
+        flush();
+    }
+}
@@ -0,0 +1,419 @@
+package tictactoe.game;
+
+import java.util.Arrays;
+
+/**
+ * Negamax search with alpha-beta pruning on a {@link GridBoard}, used by the computer player on boards where the 3x3
+ * rules don't apply, e.g. 5x5 four in a row or 15x15 Gomoku.
+ *
+ * Moves at each ply are ordered by the threats they make or block, with the killer moves that last cut off a sibling
+ * tried early. On boards over {@value #SMALL_BOARD_TILES} tiles only tiles next to a placed tile are considered.
+ *
+ * The search deepens one ply at a time up to the maximum depth, the best move of each depth tried first at the next.
+ * Once the node budget is spent or the deadline passes, the depth under way is abandoned and the best move of the
+ * last completed depth stands. Depth 1 scores the moves statically, so there is always a move to play.
+ *
+ * With a {@link TranspositionTable}, each position is looked up by its canonical hash before it is searched: a deep
+ * enough entry can settle the position or narrow its window, and the stored best move is tried first. Stored moves are
+ * kept in the canonical orientation and mapped back through the board's symmetries.
+ *
+ * Moves are made and unmade on the one board and all per-ply buffers are allocated up front, so the search itself
+ * does not allocate. An instance is not thread safe, but several instances on copies of a board can share one table,
+ * see {@link ParallelSearch}.
+ */
+final class AlphaBetaSearch {
+
+    static final int WIN_SCORE = 1_000_000_000;
+
+    private static final int SMALL_BOARD_TILES = 25;
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Scores this close to {@link #WIN_SCORE} are wins, stored in the table relative to the position not the root.
+     */
+    private static final int WIN_THRESHOLD = WIN_SCORE - 1024;
+    private static final int TABLE_MOVE_BONUS = 1 << 30;
+
+    /**
+     * The clock is read once every this many + 1 nodes.
+     */
+    private static final int CLOCK_CHECK_MASK = 255;
+
+    /**
+     * XORed into the hash when O is to move.
+     */
+    private static final long O_TO_MOVE_KEY = 0x9E3779B97F4A7C15L;
+
+    private final GridBoard board;
+    private final BoardGeometry geometry;
+    private final int maxDepth;
+    private final long nodeBudget;
+    private final TranspositionTable table;
+
+    /**
+     * Score of a window by how many tiles one player has in it, when the other player has none.
+     */
+    private final int[] windowWeights;
+    private final int killerBonus;
+
+    private final int[][] moves;
+    private final int[][] moveScores;
+    private final int[][] killers;
+
+    private volatile boolean stopped;
+    private int rootRotation;
+    private boolean hasDeadline;
+    private long deadline;
+
+    private long nodes;
+    private int iterationDepth;
+    private int rootTile;
+    private int bestTile;
+    private int bestScore;
+    private int completedDepth;
+
+    AlphaBetaSearch(GridBoard board, int maxDepth, long nodeBudget) {
+        this(board, maxDepth, nodeBudget, null);
+    }
+
+    /**
+     * @param table shared table of searched positions, or null to search without one.
+     */
+    AlphaBetaSearch(GridBoard board, int maxDepth, long nodeBudget, TranspositionTable table) {
+        this.board = board;
+        this.geometry = board.getGeometry();
+        this.maxDepth = Math.max(1, maxDepth);
+        this.nodeBudget = nodeBudget;
+        this.table = table;
+
+        this.windowWeights = new int[geometry.winLength + 1];
+        for (int count = 1; count <= geometry.winLength; count++) {
+            windowWeights[count] = 1 << (3 * (count - 1));
+        }
+        this.killerBonus = windowWeights[geometry.winLength - 1];
+
+        this.moves = new int[this.maxDepth][geometry.tileCount];
+        this.moveScores = new int[this.maxDepth][geometry.tileCount];
+        this.killers = new int[this.maxDepth][2];
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, Board.NO_TILE);
+        }
+    }
+
+    /**
+     * @param player the tile of the player to move.
+     * @return the best tile found, or {@link Board#NO_TILE} if the board is full.
+     */
+    int findBestMove(BoardTile player) {
+        if (table != null) {
+            table.newSearch();
+        }
+        return search(player);
+    }
+
+    /**
+     * Like {@link #findBestMove(BoardTile)}, but entries the table holds are treated as part of the same search, for
+     * searches running alongside each other on one table.
+     */
+    int search(BoardTile player) {
+        nodes = 0;
+        bestTile = Board.NO_TILE;
+        bestScore = 0;
+        completedDepth = 0;
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (depth > 1 && isPastDeadline()) {
+                break;
+            }
+
+            iterationDepth = depth;
+            rootTile = Board.NO_TILE;
+            int score = negamax(player, depth, 0, -INFINITY, INFINITY);
+            if (depth > 1 && isOutOfBudget()) {
+                break;
+            }
+
+            bestTile = rootTile;
+            bestScore = score;
+            completedDepth = depth;
+            if (rootTile == Board.NO_TILE || Math.abs(score) > WIN_THRESHOLD || isOutOfBudget()) {
+                break;
+            }
+        }
+        return bestTile;
+    }
+
+    /**
+     * Make a running search wind down as if its node budget were spent. Safe to call from any thread.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Abandon the depth under way once {@link System#nanoTime()} passes the deadline.
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadline = deadlineNanos;
+    }
+
+    /**
+     * Start the moves at the root this many places into their usual order, so searches sharing a table explore
+     * different parts of the tree first.
+     */
+    void setRootRotation(int rootRotation) {
+        this.rootRotation = rootRotation;
+    }
+
+    /**
+     * @return the score of the last {@link #findBestMove(BoardTile)} for the player who moved, above
+     *         {@link #WIN_SCORE} - 1024 for a forced win.
+     */
+    int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * @return the deepest search the last {@link #findBestMove(BoardTile)} completed, its move being the one returned.
+     */
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the number of positions visited by the last {@link #findBestMove(BoardTile)}.
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the score of the position for the player to move, the best move being recorded in rootTile at ply 0.
+     */
+    private int negamax(BoardTile player, int depth, int ply, int alpha, int beta) {
+        nodes++;
+
+        int symmetry = 0;
+        long key = 0;
+        int tableMove = Board.NO_TILE;
+        if (table != null) {
+            symmetry = board.getCanonicalSymmetry();
+            key = board.getHash(symmetry) ^ (player == BoardTile.O ? O_TO_MOVE_KEY : 0);
+
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.NO_ENTRY) {
+                tableMove = fromTableMove(TranspositionTable.moveOf(entry), symmetry);
+
+                if (ply > 0 && TranspositionTable.depthOf(entry) >= depth) {
+                    int score = fromTableScore(TranspositionTable.scoreOf(entry), ply);
+                    switch (TranspositionTable.boundOf(entry)) {
+                        case TranspositionTable.EXACT: return score;
+                        case TranspositionTable.LOWER_BOUND: alpha = Math.max(alpha, score); break;
+                        case TranspositionTable.UPPER_BOUND: beta = Math.min(beta, score); break;
+                        default: break;
+                    }
+                    if (alpha >= beta) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        if (ply == 0 && tableMove == Board.NO_TILE) {
+            tableMove = bestTile;
+        }
+
+        final int alphaOriginal = alpha;
+        int moveCount = generateMoves(player, ply, tableMove);
+        if (moveCount == 0) {
+            return 0;
+        }
+
+        BoardTile opponent = getOpponent(player);
+        int bestScore = -INFINITY;
+        int bestMove = Board.NO_TILE;
+        for (int i = 0; i < moveCount; i++) {
+            // past depth 1 an unfinished iteration is thrown away, so there is no need to finish it
+            if (iterationDepth > 1 && isOutOfBudget()) {
+                break;
+            }
+
+            int tile = moves[ply][ply == 0 ? (i + rootRotation) % moveCount : i];
+
+            board.place(tile, player);
+            int score;
+            if (board.isWinningMove(tile)) {
+                score = WIN_SCORE - ply;
+            } else if (board.isFull()) {
+                score = 0;
+            } else if (depth <= 1 || isOutOfBudget()) {
+                score = -evaluate(opponent);
+            } else {
+                score = -negamax(opponent, depth - 1, ply + 1, -beta, -alpha);
+            }
+            board.clear(tile);
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = tile;
+                if (ply == 0) {
+                    rootTile = tile;
+                }
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                storeKiller(tile, ply);
+                break;
+            }
+        }
+
+        // a search cut short by the node budget is not worth keeping
+        if (table != null && !isOutOfBudget()) {
+            int bound = bestScore <= alphaOriginal
+                    ? TranspositionTable.UPPER_BOUND
+                    : bestScore >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(key, toTableScore(bestScore, ply), depth, bound, geometry.symmetries[symmetry][bestMove]);
+        }
+
+        return bestScore;
+    }
+
+    private boolean isOutOfBudget() {
+        if (stopped || nodes >= nodeBudget) {
+            return true;
+        }
+        if ((nodes & CLOCK_CHECK_MASK) == 0 && isPastDeadline()) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private boolean isPastDeadline() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Fill moves[ply] with the candidate tiles, best first.
+     * @return the number of candidates.
+     */
+    private int generateMoves(BoardTile player, int ply, int tableMove) {
+        int[] plyMoves = moves[ply];
+        int[] plyScores = moveScores[ply];
+
+        if (board.getMoveCount() == 0 && geometry.tileCount > SMALL_BOARD_TILES) {
+            plyMoves[0] = geometry.centerTile();
+            return 1;
+        }
+
+        int count = 0;
+        for (int tile = 0; tile < geometry.tileCount; tile++) {
+            if (board.isEmpty(tile) && (geometry.tileCount <= SMALL_BOARD_TILES || board.hasOccupiedNeighbour(tile))) {
+                int score = tile == tableMove ? TABLE_MOVE_BONUS : scoreMove(tile, player, ply);
+
+                // insertion sort, highest score first
+                int position = count++;
+                while (position > 0 && plyScores[position - 1] < score) {
+                    plyMoves[position] = plyMoves[position - 1];
+                    plyScores[position] = plyScores[position - 1];
+                    position--;
+                }
+                plyMoves[position] = tile;
+                plyScores[position] = score;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ordering score of an empty tile: the windows it extends for the player, weighted double, plus the windows it
+     * blocks for the opponent, plus a bonus for killer moves.
+     */
+    private int scoreMove(int tile, BoardTile player, int ply) {
+        BoardTile opponent = getOpponent(player);
+
+        int score = 0;
+        for (int window : geometry.tileWindows[tile]) {
+            int mine = board.getCount(window, player);
+            int theirs = board.getCount(window, opponent);
+            if (theirs == 0) {
+                score += 2 * windowWeights[mine + 1];
+            }
+            if (mine == 0) {
+                score += windowWeights[theirs + 1];
+            }
+        }
+
+        if (tile == killers[ply][0] || tile == killers[ply][1]) {
+            score += killerBonus;
+        }
+        return score;
+    }
+
+    /**
+     * Static score for the player to move: the weight of every window only they occupy, less the weight of every
+     * window only the opponent occupies.
+     */
+    private int evaluate(BoardTile player) {
+        BoardTile opponent = getOpponent(player);
+
+        int score = 0;
+        for (int window = 0; window < geometry.windowCount; window++) {
+            int mine = board.getCount(window, player);
+            int theirs = board.getCount(window, opponent);
+            if (theirs == 0) {
+                score += windowWeights[mine];
+            } else if (mine == 0) {
+                score -= windowWeights[theirs];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return the table's canonical move mapped back onto this board, or {@link Board#NO_TILE} if it can't be played.
+     */
+    private int fromTableMove(int canonicalMove, int symmetry) {
+        if (canonicalMove < 0 || canonicalMove >= geometry.tileCount) {
+            return Board.NO_TILE;
+        }
+        int tile = geometry.inverseSymmetries[symmetry][canonicalMove];
+        return board.isEmpty(tile) ? tile : Board.NO_TILE;
+    }
+
+    /**
+     * Wins are scored by how many plies from the root they are; the table keeps them relative to the position.
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score + ply;
+        }
+        if (score < -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTableScore(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score - ply;
+        }
+        if (score < -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private void storeKiller(int tile, int ply) {
+        if (killers[ply][0] != tile) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = tile;
+        }
+    }
+
+    private static BoardTile getOpponent(BoardTile player) {
+        return player == BoardTile.X ? BoardTile.O : BoardTile.X;
+    }
+}
@@ -0,0 +1,276 @@
+package tictactoe.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A 3x3 board held as two 9-bit masks, one for X and one for O. Tile "{row}-{column}" maps to bit
+ * {@code row * 3 + column}, so "0-0" is bit 0 and "2-2" is bit 8.
+ *
+ * All queries are plain int arithmetic, which lets the game and computer player evaluate a position without
+ * building row lists or comparing tile strings. The JSON rows stored on {@link tictactoe.game.entity.Game} are only
+ * read or written at the edges, see {@link #fromRows(List)} and {@link #toRows()}.
+ */
+final class Board {
+
+    static final int SIZE = 3;
+    static final int TILE_COUNT = SIZE * SIZE;
+    static final int FULL_MASK = (1 << TILE_COUNT) - 1;
+
+    /**
+     * Number of distinct arrangements of empty, X and O tiles, 3^9. See {@link #getPositionKey()}.
+     */
+    static final int POSITION_COUNT = 19683;
+
+    static final int NO_TILE = -1;
+    static final int CENTER = 4;
+    static final int[] CORNERS = {0, 2, 6, 8};
+
+    /**
+     * The 8 winning lines as masks, in the same order as {@link BoardUtil#getAllPossibleLines(List)}: 3 rows,
+     * 3 columns, then the two diagonals.
+     */
+    static final int[] LINES = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    /**
+     * {@code TILE_LINES[tile]} holds the masks of the 2 to 4 lines through the tile.
+     */
+    static final int[][] TILE_LINES = new int[TILE_COUNT][];
+
+    /**
+     * {@code OPPOSITE_CORNERS[tile]} is the corner across the board from a corner tile, or {@link #NO_TILE} for a tile
+     * that is not a corner.
+     */
+    static final int[] OPPOSITE_CORNERS = new int[TILE_COUNT];
+
+    private static final String[] TILE_IDS = new String[TILE_COUNT];
+
+    static {
+        for (int index = 0; index < TILE_COUNT; index++) {
+            TILE_IDS[index] = rowOf(index) + "-" + columnOf(index);
+
+            final int tileBit = bit(index);
+            TILE_LINES[index] = Arrays.stream(LINES).filter(line -> (line & tileBit) != 0).toArray();
+            OPPOSITE_CORNERS[index] = NO_TILE;
+        }
+        for (int corner : CORNERS) {
+            // corners 0 & 8 and 2 & 6 sit opposite each other
+            OPPOSITE_CORNERS[corner] = TILE_COUNT - 1 - corner;
+        }
+    }
+
+    private int xMask;
+    private int oMask;
+
+    Board() {}
+
+    Board(int xMask, int oMask) {
+        this.xMask = xMask;
+        this.oMask = oMask;
+    }
+
+    /**
+     * @param rows the rows that represent a game, e.g. [["x", "o", ""], ["", "x", ""], ["", "", ""]].
+     * @return a {@link Board} with the same tiles placed.
+     */
+    static Board fromRows(List<List<String>> rows) {
+        final String x = BoardTile.X.toString();
+        final String o = BoardTile.O.toString();
+
+        int xMask = 0;
+        int oMask = 0;
+        for (int rowIndex = 0; rowIndex < SIZE; rowIndex++) {
+            List<String> row = rows.get(rowIndex);
+            for (int columnIndex = 0; columnIndex < SIZE; columnIndex++) {
+                String tile = row.get(columnIndex);
+                if (x.equals(tile)) {
+                    xMask |= bit(indexOf(rowIndex, columnIndex));
+                } else if (o.equals(tile)) {
+                    oMask |= bit(indexOf(rowIndex, columnIndex));
+                }
+            }
+        }
+
+        return new Board(xMask, oMask);
+    }
+
+    /**
+     * @param positionKey a key from {@link #getPositionKey()}.
+     * @return the {@link Board} the key was made from.
+     */
+    static Board fromPositionKey(int positionKey) {
+        int xMask = 0;
+        int oMask = 0;
+        int key = positionKey;
+        for (int index = 0; index < TILE_COUNT; index++) {
+            int digit = key % 3;
+            if (digit == 1) {
+                xMask |= bit(index);
+            } else if (digit == 2) {
+                oMask |= bit(index);
+            }
+            key /= 3;
+        }
+        return new Board(xMask, oMask);
+    }
+
+    /**
+     * @return the board as mutable rows of tile strings, the format persisted on a game and rendered by the view.
+     */
+    List<List<String>> toRows() {
+        List<List<String>> rows = new ArrayList<>(SIZE);
+        for (int rowIndex = 0; rowIndex < SIZE; rowIndex++) {
+            List<String> row = new ArrayList<>(SIZE);
+            for (int columnIndex = 0; columnIndex < SIZE; columnIndex++) {
+                row.add(getTile(indexOf(rowIndex, columnIndex)).toString());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    int getMask(BoardTile tile) {
+        switch (tile) {
+            case X: return xMask;
+            case O: return oMask;
+            default: return getEmptyMask();
+        }
+    }
+
+    int getEmptyMask() {
+        return FULL_MASK & ~(xMask | oMask);
+    }
+
+    BoardTile getTile(int index) {
+        if ((xMask & bit(index)) != 0) {
+            return BoardTile.X;
+        }
+        if ((oMask & bit(index)) != 0) {
+            return BoardTile.O;
+        }
+        return BoardTile.EMPTY;
+    }
+
+    boolean isEmpty(int index) {
+        return ((xMask | oMask) & bit(index)) == 0;
+    }
+
+    boolean isOccupied(int index) {
+        return !isEmpty(index);
+    }
+
+    boolean isFull() {
+        return (xMask | oMask) == FULL_MASK;
+    }
+
+    void place(int index, BoardTile tile) {
+        switch (tile) {
+            case X:
+                xMask |= bit(index);
+                break;
+            case O:
+                oMask |= bit(index);
+                break;
+            default:
+                throw new IllegalArgumentException("Cannot place an empty tile at " + index);
+        }
+    }
+
+    /**
+     * Undo {@link #place(int, BoardTile)} on the tile.
+     */
+    void clear(int index) {
+        xMask &= ~bit(index);
+        oMask &= ~bit(index);
+    }
+
+    /**
+     * The board read as a base-3 number, tile 0 being the lowest digit: 0 for empty, 1 for X and 2 for O.
+     * @return a key between 0 and {@link #POSITION_COUNT} - 1, unique to this arrangement of tiles.
+     */
+    int getPositionKey() {
+        int key = 0;
+        for (int index = TILE_COUNT - 1; index >= 0; index--) {
+            key *= 3;
+            if ((xMask & bit(index)) != 0) {
+                key += 1;
+            } else if ((oMask & bit(index)) != 0) {
+                key += 2;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return how many lines hold two of the player's tiles and one empty tile, each a win on their next move.
+     */
+    int countThreats(BoardTile tile) {
+        int playerMask = getMask(tile);
+        int emptyMask = getEmptyMask();
+
+        int threats = 0;
+        for (int line : LINES) {
+            if (Integer.bitCount(playerMask & line) == 2 && Integer.bitCount(emptyMask & line) == 1) {
+                threats++;
+            }
+        }
+        return threats;
+    }
+
+    /**
+     * @return {@link BoardTile#X} or {@link BoardTile#O} if they own a complete line, otherwise
+     *         {@link BoardTile#EMPTY}.
+     */
+    BoardTile getWinner() {
+        for (int line : LINES) {
+            if ((xMask & line) == line) {
+                return BoardTile.X;
+            }
+            if ((oMask & line) == line) {
+                return BoardTile.O;
+            }
+        }
+        return BoardTile.EMPTY;
+    }
+
+    /**
+     * @return true if the owner of the tile has a complete line through it. Only the lines through the tile are read.
+     */
+    boolean isWinningMove(int index) {
+        int mask = (xMask & bit(index)) != 0 ? xMask : (oMask & bit(index)) != 0 ? oMask : 0;
+        for (int line : TILE_LINES[index]) {
+            if ((mask & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int bit(int index) {
+        return 1 << index;
+    }
+
+    static int indexOf(int rowIndex, int columnIndex) {
+        return rowIndex * SIZE + columnIndex;
+    }
+
+    static int rowOf(int index) {
+        return index / SIZE;
+    }
+
+    static int columnOf(int index) {
+        return index % SIZE;
+    }
+
+    /**
+     * @return the tile id in the format "{row index}-{column index}". Ids are precomputed, no string is built.
+     */
+    static String tileId(int index) {
+        return TILE_IDS[index];
+    }
+}
@@ -0,0 +1,198 @@
+package tictactoe.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fixed shape of a rows x columns board played to k in a row: every window of k tiles that could win, which
+ * windows pass through each tile, and each tile's neighbours. It holds no game state, so one instance per board size
+ * is shared by all games and searches, see {@link #of(int, int, int)}.
+ *
+ * Tiles are indexed row by row, tile "{row}-{column}" being {@code row * columnCount + column}.
+ *
+ * It also holds the Zobrist keys used to hash positions, and the board's symmetries: the 8 rotations and reflections
+ * of a square board, or the 4 reflections of a rectangular one. Positions that are symmetries of each other share a
+ * canonical hash, see {@link GridBoard#getCanonicalHash()}.
+ */
+final class BoardGeometry {
+
+    private static final Map<Long, BoardGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+    // right, down, down-right, down-left
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    final int rowCount;
+    final int columnCount;
+    final int winLength;
+    final int tileCount;
+    final int windowCount;
+
+    /**
+     * Window w covers tiles {@code windowTiles[w * winLength]} to {@code windowTiles[w * winLength + winLength - 1]}.
+     */
+    final int[] windowTiles;
+
+    /**
+     * The windows each tile belongs to. A tile sits in at most 4 * winLength windows.
+     */
+    final int[][] tileWindows;
+
+    /**
+     * The up to 8 tiles touching each tile.
+     */
+    final int[][] neighbours;
+
+    /**
+     * {@code symmetries[s][tile]} is where the tile lands under symmetry s, symmetry 0 being the identity.
+     */
+    final int[][] symmetries;
+
+    /**
+     * {@code inverseSymmetries[s]} undoes {@code symmetries[s]}.
+     */
+    final int[][] inverseSymmetries;
+
+    /**
+     * Random keys XORed into a position's hash for each X and O tile, plus one for the board size so positions of
+     * different sizes never share a hash.
+     */
+    final long[] xKeys;
+    final long[] oKeys;
+    final long sizeKey;
+
+    private BoardGeometry(int rowCount, int columnCount, int winLength) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.winLength = winLength;
+        this.tileCount = rowCount * columnCount;
+
+        List<int[]> windows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                for (int[] direction : DIRECTIONS) {
+                    int lastRow = rowIndex + direction[0] * (winLength - 1);
+                    int lastColumn = columnIndex + direction[1] * (winLength - 1);
+                    if (isOnBoard(lastRow, lastColumn)) {
+                        int[] window = new int[winLength];
+                        for (int i = 0; i < winLength; i++) {
+                            window[i] = indexOf(rowIndex + direction[0] * i, columnIndex + direction[1] * i);
+                        }
+                        windows.add(window);
+                    }
+                }
+            }
+        }
+
+        this.windowCount = windows.size();
+        this.windowTiles = new int[windowCount * winLength];
+        int[] windowsPerTile = new int[tileCount];
+        for (int window = 0; window < windowCount; window++) {
+            System.arraycopy(windows.get(window), 0, windowTiles, window * winLength, winLength);
+            for (int tile : windows.get(window)) {
+                windowsPerTile[tile]++;
+            }
+        }
+
+        this.tileWindows = new int[tileCount][];
+        for (int tile = 0; tile < tileCount; tile++) {
+            tileWindows[tile] = new int[windowsPerTile[tile]];
+            windowsPerTile[tile] = 0;
+        }
+        for (int window = 0; window < windowCount; window++) {
+            for (int tile : windows.get(window)) {
+                tileWindows[tile][windowsPerTile[tile]++] = window;
+            }
+        }
+
+        this.neighbours = new int[tileCount][];
+        for (int tile = 0; tile < tileCount; tile++) {
+            List<Integer> tileNeighbours = new ArrayList<>(8);
+            for (int rowOffset = -1; rowOffset <= 1; rowOffset++) {
+                for (int columnOffset = -1; columnOffset <= 1; columnOffset++) {
+                    int rowIndex = rowOf(tile) + rowOffset;
+                    int columnIndex = columnOf(tile) + columnOffset;
+                    if ((rowOffset != 0 || columnOffset != 0) && isOnBoard(rowIndex, columnIndex)) {
+                        tileNeighbours.add(indexOf(rowIndex, columnIndex));
+                    }
+                }
+            }
+            neighbours[tile] = tileNeighbours.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.symmetries = createSymmetries();
+        this.inverseSymmetries = new int[symmetries.length][tileCount];
+        for (int symmetry = 0; symmetry < symmetries.length; symmetry++) {
+            for (int tile = 0; tile < tileCount; tile++) {
+                inverseSymmetries[symmetry][symmetries[symmetry][tile]] = tile;
+            }
+        }
+
+        // a fixed seed per size keeps hashes the same from run to run
+        SplittableRandom random = new SplittableRandom(((long) rowCount << 32) ^ ((long) columnCount << 16) ^ winLength);
+        this.xKeys = random.longs(tileCount).toArray();
+        this.oKeys = random.longs(tileCount).toArray();
+        this.sizeKey = random.nextLong();
+    }
+
+    private int[][] createSymmetries() {
+        int lastRow = rowCount - 1;
+        int lastColumn = columnCount - 1;
+        boolean square = rowCount == columnCount;
+
+        int[][] maps = new int[square ? 8 : 4][tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            int row = rowOf(tile);
+            int column = columnOf(tile);
+
+            maps[0][tile] = tile;
+            maps[1][tile] = indexOf(row, lastColumn - column);
+            maps[2][tile] = indexOf(lastRow - row, column);
+            maps[3][tile] = indexOf(lastRow - row, lastColumn - column);
+            if (square) {
+                maps[4][tile] = indexOf(column, row);
+                maps[5][tile] = indexOf(column, lastRow - row);
+                maps[6][tile] = indexOf(lastColumn - column, row);
+                maps[7][tile] = indexOf(lastColumn - column, lastRow - row);
+            }
+        }
+        return maps;
+    }
+
+    /**
+     * @return the shared geometry for the board size, built on first use.
+     */
+    static BoardGeometry of(int rowCount, int columnCount, int winLength) {
+        long key = ((long) rowCount << 32) | ((long) columnCount << 16) | winLength;
+        return GEOMETRIES.computeIfAbsent(key, k -> new BoardGeometry(rowCount, columnCount, winLength));
+    }
+
+    boolean isOnBoard(int rowIndex, int columnIndex) {
+        return rowIndex >= 0 && rowIndex < rowCount && columnIndex >= 0 && columnIndex < columnCount;
+    }
+
+    int indexOf(int rowIndex, int columnIndex) {
+        return rowIndex * columnCount + columnIndex;
+    }
+
+    int rowOf(int tile) {
+        return tile / columnCount;
+    }
+
+    int columnOf(int tile) {
+        return tile % columnCount;
+    }
+
+    int centerTile() {
+        return indexOf(rowCount / 2, columnCount / 2);
+    }
+
+    /**
+     * @return the tile id in the format "{row index}-{column index}".
+     */
+    String tileId(int tile) {
+        return rowOf(tile) + "-" + columnOf(tile);
+    }
+}
@@ -11,12 +11,19 @@ class BoardUtil {
     private static final int NUMBER_ROWS = 3;
     private static final int NUMBER_COLUMNS = 3;
 
+    // right, down, down-right, down-left
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
     public static List<List<String>> createEmpty() {
+        return createEmpty(NUMBER_ROWS, NUMBER_COLUMNS);
+    }
+
+    public static List<List<String>> createEmpty(int numberRows, int numberColumns) {
         List<List<String>> rows = new ArrayList<>();
 
-        for (int rowIndex = 0; rowIndex < NUMBER_ROWS; rowIndex++) {
+        for (int rowIndex = 0; rowIndex < numberRows; rowIndex++) {
             List<String> row = new ArrayList<>();
-            for (int columnIndex = 0; columnIndex < NUMBER_COLUMNS; columnIndex++) {
+            for (int columnIndex = 0; columnIndex < numberColumns; columnIndex++) {
                 row.add(BoardTile.EMPTY.toString());
             }
             rows.add(row);
@@ -46,10 +53,82 @@ class BoardUtil {
         return allPossibleLines;
     }
 
+    /**
+     * Only the 4 lines through the tile are read, each only as far as the run of matching tiles around it goes, so the
+     * check costs O(winLength) whatever the board size and allocates nothing. Per-window counts, as {@link GridBoard}
+     * keeps for any board and win length, would answer as fast, but would be state to rebuild from the game's rows on
+     * every load and keep in step with them; the rows alone are enough here.
+     * @return true if the tile at the position is part of winLength or more matching tiles in a row, column or
+     *         diagonal.
+     */
+    static boolean isWinningMove(List<List<String>> gameRows, int rowIndex, int columnIndex, int winLength) {
+        String tile = gameRows.get(rowIndex).get(columnIndex);
+        if (tile.isEmpty()) {
+            return false;
+        }
+
+        for (int[] direction : DIRECTIONS) {
+            int count = 1
+                    + countMatching(gameRows, rowIndex, columnIndex, direction[0], direction[1], tile, winLength)
+                    + countMatching(gameRows, rowIndex, columnIndex, -direction[0], -direction[1], tile, winLength);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return how many tiles matching the given one follow the position in the direction, at most winLength - 1.
+     */
+    private static int countMatching(
+            List<List<String>> gameRows, int rowIndex, int columnIndex, int rowStep, int columnStep, String tile,
+            int winLength
+    ) {
+        int count = 0;
+        int row = rowIndex + rowStep;
+        int column = columnIndex + columnStep;
+        while (count < winLength - 1
+                && row >= 0 && row < gameRows.size()
+                && column >= 0 && column < gameRows.get(row).size()
+                && tile.equals(gameRows.get(row).get(column))) {
+            count++;
+            row += rowStep;
+            column += columnStep;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of tiles placed on the board.
+     */
+    static int countPlacedTiles(List<List<String>> gameRows) {
+        int count = 0;
+        for (List<String> row : gameRows) {
+            for (String tile : row) {
+                if (!tile.isEmpty()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return a copy of the rows that can be changed without changing them.
+     */
+    static List<List<String>> copyRows(List<List<String>> gameRows) {
+        List<List<String>> copy = new ArrayList<>(gameRows.size());
+        for (List<String> row : gameRows) {
+            copy.add(new ArrayList<>(row));
+        }
+        return copy;
+    }
+
     public static List<List<String>> getAllColumns(List<List<String>> gameRows) {
         final List<List<String>> allColumns = new ArrayList<>();
 
-        for (int columnIndex = 0; columnIndex < NUMBER_COLUMNS; columnIndex++) {
+        for (int columnIndex = 0; columnIndex < gameRows.get(0).size(); columnIndex++) {
             List<String> columnLine = new ArrayList<>();
             for (List<String> row : gameRows) {
                 columnLine.add(row.get(columnIndex));
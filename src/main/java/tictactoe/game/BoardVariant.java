@@ -0,0 +1,33 @@
+package tictactoe.game;
+
+/**
+ * The board sizes a new game can be started with.
+ */
+public enum BoardVariant {
+
+    CLASSIC(3, 3, 3),
+    FOUR_IN_A_ROW(5, 5, 4),
+    GOMOKU(15, 15, 5);
+
+    private final int rowCount;
+    private final int columnCount;
+    private final int winLength;
+
+    BoardVariant(int rowCount, int columnCount, int winLength) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.winLength = winLength;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+}
@@ -0,0 +1,81 @@
+package tictactoe.game;
+
+/**
+ * A move the computer player made, with the budget it was given and how far it searched.
+ */
+public final class ComputerMove {
+
+    private final int tile;
+    private final int columnCount;
+    private final DecisionRule rule;
+    private final MoveBudget budget;
+    private final int depthReached;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    ComputerMove(
+            int tile, int columnCount, DecisionRule rule, MoveBudget budget, int depthReached, long nodes,
+            long elapsedNanos
+    ) {
+        this.tile = tile;
+        this.columnCount = columnCount;
+        this.rule = rule;
+        this.budget = budget;
+        this.depthReached = depthReached;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the index of the tile played, {@code row index * column count + column index}.
+     */
+    public int getTile() {
+        return tile;
+    }
+
+    /**
+     * @return the tile played, in the format "{row index}-{column index}". Built on each call, for display.
+     */
+    public String getTileId() {
+        return (tile / columnCount) + "-" + (tile % columnCount);
+    }
+
+    /**
+     * @return the 3x3 priority rule that chose the move, or {@link DecisionRule#SEARCH}.
+     */
+    public DecisionRule getRule() {
+        return rule;
+    }
+
+    public MoveBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return the depth of the last completed search the move came from, 0 for a 3x3 reply looked up from the table.
+     *         For Monte Carlo tree search, the deepest node its tree reached.
+     */
+    public int getDepthReached() {
+        return depthReached;
+    }
+
+    /**
+     * @return the positions searched, 0 for a 3x3 reply. For Monte Carlo tree search, the playouts run.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the time taken to choose the move, not including applying it to the game.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getTileId() + " (" + rule + ", depth " + depthReached + ", " + nodes + " nodes, " + elapsedNanos / 1_000
+                + " us, budget " + budget + ")";
+    }
+}
@@ -0,0 +1,38 @@
+package tictactoe.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for each move {@link ComputerPlayerService} chooses, lasting from the start of its turn until
+ * the move is chosen, before it is applied.
+ */
+@Name("tictactoe.ComputerMoveChosen")
+@Label("Computer Move Chosen")
+@Category({"Tic Tac Toe", "Computer Player"})
+@Description("A move chosen by the computer player, by rule lookup or search")
+@StackTrace(false)
+final class ComputerMoveChosenEvent extends Event {
+
+    @Label("Game Id")
+    long gameId;
+
+    @Label("Engine")
+    String computerEngine;
+
+    @Label("Rule")
+    String rule;
+
+    @Label("Tile")
+    int tile;
+
+    @Label("Depth Reached")
+    int depthReached;
+
+    @Label("Nodes")
+    long nodes;
+}
@@ -0,0 +1,134 @@
+package tictactoe.game;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@link ComputerPlayerService}, bound from the "tictactoe.computer.*" application properties.
+ * A new instance holds the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "tictactoe.computer")
+public class ComputerPlayerProperties {
+
+    /**
+     * When none of the 3x3 rules apply, pick a random empty tile if true, otherwise the first empty tile.
+     */
+    private boolean randomFallback = true;
+
+    /**
+     * The most moves ahead the search looks on boards other than 3x3. It deepens one move at a time until it gets here
+     * or runs out of time or nodes.
+     */
+    private int searchDepth = 8;
+
+    /**
+     * Positions the search may visit for one move.
+     */
+    private long searchNodeBudget = 200_000;
+
+    /**
+     * Time the search may take for one move, 0 for no limit. Once it is up, the move of the last completed depth is
+     * played.
+     */
+    private long searchTimeMillis = 50;
+
+    /**
+     * Searches run for one move on boards other than 3x3: the request's own thread, plus helpers on a pool of this
+     * many less one threads. 1 searches on the request thread alone.
+     */
+    private int searchThreads = 1;
+
+    /**
+     * Random playouts the Monte Carlo tree search may run for one move, within the move's time budget.
+     */
+    private long mctsPlayouts = 20_000;
+
+    /**
+     * Nodes the Monte Carlo tree of one search may hold, 24 bytes each. Past that, leaves stop being expanded. At least
+     * 362, the root and its moves on a 19x19 board, or the computer player is not made.
+     */
+    private int mctsTreeNodes = 1 << 18;
+
+    /**
+     * Memory cap of the table of searched positions shared by all searches, 0 to search without one.
+     */
+    private int transpositionTableMegabytes = 16;
+
+    /**
+     * Which entries of the table of searched positions a newer one may overwrite.
+     */
+    private ReplacementPolicy transpositionTableReplacement = ReplacementPolicy.DEPTH_PREFERRED;
+
+    public boolean isRandomFallback() {
+        return randomFallback;
+    }
+
+    public void setRandomFallback(boolean randomFallback) {
+        this.randomFallback = randomFallback;
+    }
+
+    public int getSearchDepth() {
+        return searchDepth;
+    }
+
+    public void setSearchDepth(int searchDepth) {
+        this.searchDepth = searchDepth;
+    }
+
+    public long getSearchNodeBudget() {
+        return searchNodeBudget;
+    }
+
+    public void setSearchNodeBudget(long searchNodeBudget) {
+        this.searchNodeBudget = searchNodeBudget;
+    }
+
+    public long getSearchTimeMillis() {
+        return searchTimeMillis;
+    }
+
+    public void setSearchTimeMillis(long searchTimeMillis) {
+        this.searchTimeMillis = searchTimeMillis;
+    }
+
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    public void setSearchThreads(int searchThreads) {
+        this.searchThreads = searchThreads;
+    }
+
+    public long getMctsPlayouts() {
+        return mctsPlayouts;
+    }
+
+    public void setMctsPlayouts(long mctsPlayouts) {
+        this.mctsPlayouts = mctsPlayouts;
+    }
+
+    public int getMctsTreeNodes() {
+        return mctsTreeNodes;
+    }
+
+    public void setMctsTreeNodes(int mctsTreeNodes) {
+        this.mctsTreeNodes = mctsTreeNodes;
+    }
+
+    public int getTranspositionTableMegabytes() {
+        return transpositionTableMegabytes;
+    }
+
+    public void setTranspositionTableMegabytes(int transpositionTableMegabytes) {
+        this.transpositionTableMegabytes = transpositionTableMegabytes;
+    }
+
+    public ReplacementPolicy getTranspositionTableReplacement() {
+        return transpositionTableReplacement;
+    }
+
+    public void setTranspositionTableReplacement(ReplacementPolicy transpositionTableReplacement) {
+        this.transpositionTableReplacement = transpositionTableReplacement;
+    }
+}
@@ -1,13 +1,28 @@
 package tictactoe.game;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
 
-import java.util.ArrayList;
-import java.util.List;
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
 
 @Service
 /*
@@ -15,22 +30,135 @@ import java.util.Random;
  */
 public class ComputerPlayerService {
 
-    private static final int BOARD_SIZE = 3;
-    private static final String CENTER_TILE = "1-1";
-    private static final List<String> CORNER_TILES = List.of("0-0", "0-2", "2-0", "2-2");
+    private static final Logger logger = LoggerFactory.getLogger(ComputerPlayerService.class);
+
+    /**
+     * Timer of the moves each {@link DecisionRule} chose, tagged "rule": its count is the rule's hits and its total
+     * time the nanoseconds spent choosing them.
+     */
+    static final String RULE_TIMER = "tictactoe.computer.rule";
+
+    /**
+     * Replies for every 3x3 position, built once when the service class is loaded at startup.
+     */
+    private static final ResponseTable RESPONSE_TABLE = ResponseTable.create();
 
     private final GameService gameService;
-    private final Random random = new Random();
+    private final ComputerPlayerProperties properties;
+
+    /**
+     * A generator per thread that plays for the computer, so threads neither share nor wait on one.
+     */
+    private final ThreadLocal<SplittableRandom> random;
+    private final Map<ComputerEngine, ComputerPlayerStrategy> strategies = new EnumMap<>(ComputerEngine.class);
+    private final Map<ComputerEngine, Timer> turnTimers = new EnumMap<>(ComputerEngine.class);
+    private final Map<DecisionRule, Timer> ruleTimers = new EnumMap<>(DecisionRule.class);
+
+    /**
+     * Monte Carlo trees not in use, kept to be reused by the next search rather than allocated again. As many are kept
+     * as there are search threads, those left over by more searches at once dropped.
+     */
+    private final Queue<MonteCarloTreeSearch> idleTrees;
+
+    /**
+     * Shared by every search, created on the first game that needs one.
+     */
+    private volatile TranspositionTable transpositionTable;
+
+    /**
+     * Runs the helper searches, apart from the web server's request threads. Created on the first search that uses it.
+     */
+    private volatile ExecutorService searchExecutor;
 
-    @Autowired
     public ComputerPlayerService(final GameService gameService) {
+        this(gameService, new ComputerPlayerProperties());
+    }
+
+    public ComputerPlayerService(final GameService gameService, final ComputerPlayerProperties properties) {
+        this(gameService, properties, new SplittableRandom(), new CompositeMeterRegistry());
+    }
+
+    /**
+     * Times every turn the computer takes, by engine, and every move it chooses, by {@link DecisionRule}, and counts
+     * the transposition table's lookups.
+     */
+    @Autowired
+    public ComputerPlayerService(
+            final GameService gameService, final ComputerPlayerProperties properties, final MeterRegistry meterRegistry
+    ) {
+        this(gameService, properties, new SplittableRandom(), meterRegistry);
+    }
+
+    /**
+     * Each thread's generator is split in turn off one seeded with the given seed, so a service played by one thread,
+     * or by threads that start in a fixed order, makes the same random choices on every run.
+     */
+    public ComputerPlayerService(final GameService gameService, final ComputerPlayerProperties properties, long seed) {
+        this(gameService, properties, new SplittableRandom(seed), new CompositeMeterRegistry());
+    }
+
+    private ComputerPlayerService(
+            final GameService gameService, final ComputerPlayerProperties properties, final SplittableRandom seeds,
+            final MeterRegistry meterRegistry
+    ) {
+        int minTreeNodes = GameService.MAX_SIZE * GameService.MAX_SIZE + 1;
+        if (properties.getMctsTreeNodes() < minTreeNodes) {
+            throw new IllegalArgumentException("Monte Carlo tree of " + properties.getMctsTreeNodes()
+                    + " nodes cannot hold the root and moves of the largest board, " + minTreeNodes + " nodes");
+        }
+
         this.gameService = gameService;
+        this.properties = properties;
+        this.idleTrees = new ArrayBlockingQueue<>(Math.max(1, properties.getSearchThreads()));
+        this.random = ThreadLocal.withInitial(() -> {
+            synchronized (seeds) {
+                return seeds.split();
+            }
+        });
+
+        strategies.put(ComputerEngine.ALPHA_BETA, this::chooseAlphaBetaMove);
+        strategies.put(ComputerEngine.MCTS, this::chooseMctsMove);
+
+        for (ComputerEngine engine : ComputerEngine.values()) {
+            turnTimers.put(engine, Timer.builder("tictactoe.computer.turn")
+                    .description("Time for the computer to choose its move")
+                    .tag("engine", engine.name())
+                    .register(meterRegistry));
+        }
+        for (DecisionRule rule : DecisionRule.values()) {
+            ruleTimers.put(rule, Timer.builder(RULE_TIMER)
+                    .description("Time for the computer to choose its move, by the rule that chose it")
+                    .tag("rule", rule.name())
+                    .register(meterRegistry));
+        }
+
+        if (properties.getTranspositionTableMegabytes() > 0) {
+            registerTableCounter(meterRegistry, "hit", TranspositionTable::getHits);
+            registerTableCounter(meterRegistry, "miss", TranspositionTable::getMisses);
+            registerTableCounter(meterRegistry, "collision", TranspositionTable::getCollisions);
+        }
+    }
+
+    /**
+     * Counts the table's lookups with the result, read from the table when scraped, 0 until it is created. Collisions
+     * are the misses where another position held the slot.
+     */
+    private void registerTableCounter(
+            MeterRegistry meterRegistry, String result, ToLongFunction<TranspositionTable> count
+    ) {
+        FunctionCounter.builder("tictactoe.computer.transposition", this, service -> {
+                    TranspositionTable table = service.transpositionTable;
+                    return table == null ? 0 : count.applyAsLong(table);
+                })
+                .description("Lookups of searched positions in the transposition table, by result")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     /**
      * For the given Game, try to make a play.
      *
-     * Priority:
+     * On a classic 3x3 board, priority:
      * 1. win if possible
      * 2. block the opponent if needed
      * 3. take center if available
@@ -38,303 +166,482 @@ public class ComputerPlayerService {
      * 5. block opponent forks
      * 6. take an opposite corner if available
      * 7. take any corner if available
-     * 8. make a random valid move
+     * 8. make a random valid move, or the first empty tile when the random fallback is turned off
+     *
+     * A move these rules pick that would lose a game the computer can still draw or win, which they do in a few
+     * positions, is swapped for the best move of a full search of the position, see {@link PositionValues}.
+     *
+     * Rules 1-7 are looked up from a {@link ResponseTable} precomputed with {@link #chooseRuleTile(Board, BoardTile)},
+     * so a turn costs one array read whatever the rules do. The table also holds the {@link DecisionRule} behind each
+     * reply, and the time to choose each move is recorded against its rule.
+     *
+     * Any other board size is played by an {@link AlphaBetaSearch}, deepening one ply at a time up to the configured
+     * depth until the configured time or node budget runs out, sharing one {@link TranspositionTable} across moves and
+     * games. With more than one search thread configured, helper searches on a dedicated pool fill the table alongside
+     * it, see {@link ParallelSearch}.
+     *
+     * Games created with {@link ComputerEngine#MCTS} are played by a {@link MonteCarloTreeSearch} on any board size,
+     * limited by the configured playouts and the time budget, its tree grown by the same search threads.
      *
      * @param game {@link Game} the game state, including who plays next.
+     * @return the move made, or empty if the game is over.
      */
-    public void takeTurn(Game game) {
-        Optional<String> tileId = getWinningTile(game)
-                .or(() -> getBlockingTile(game))
-                .or(() -> getPreferredTile(game))
-                .or(() -> getForkTile(game))
-                .or(() -> getBlockingForkTile(game))
-                .or(() -> getOppositeCornerTile(game))
-                .or(() -> getCornerTile(game))
-                .or(() -> getRandomEmptyTile(game));
-
-        tileId.ifPresent(id -> gameService.takeTurn(game, id));
+    public Optional<ComputerMove> takeTurn(Game game) {
+        return takeTurn(game, getDefaultBudget());
     }
 
-    Optional<String> getBlockingTile(Game game) {
-        Game.PlayerNumber nextPlayer = game.getNextMove();
-        if (nextPlayer == null) {
-            return Optional.empty();
-        }
+    /**
+     * Like {@link #takeTurn(Game)} with the given budget. When it runs out, the move played is the best one of the
+     * deepest search completed.
+     */
+    public Optional<ComputerMove> takeTurn(Game game, MoveBudget budget) {
+        Optional<ComputerMove> move = chooseMove(game, budget);
+        move.ifPresent(computerMove -> gameService.takeTurn(game, computerMove.getTile()));
+        return move;
+    }
 
-        BoardTile opponentTile = getOpponentTile(gameService.getPlayersBoardTile(nextPlayer));
-        return findCriticalMove(game.getRows(), opponentTile);
+    /**
+     * Like {@link #takeTurn(Game)}, but leaves the move for the caller to place, as
+     * {@link GameService#takeTurns(Game, int, java.util.function.Function)} does.
+     */
+    public Optional<ComputerMove> chooseMove(Game game) {
+        return chooseMove(game, getDefaultBudget());
     }
 
-    Optional<String> getWinningTile(Game game) {
+    public Optional<ComputerMove> chooseMove(Game game, MoveBudget budget) {
+        final long start = System.nanoTime();
+        ComputerMoveChosenEvent event = new ComputerMoveChosenEvent();
+        event.begin();
+
         Game.PlayerNumber nextPlayer = game.getNextMove();
         if (nextPlayer == null) {
             return Optional.empty();
         }
 
         BoardTile boardTile = gameService.getPlayersBoardTile(nextPlayer);
-        return findCriticalMove(game.getRows(), boardTile);
+        ComputerEngine engine = game.getComputerEngine() == null ? ComputerEngine.ALPHA_BETA : game.getComputerEngine();
+        Optional<ComputerMove> move = strategies.get(engine).chooseMove(game, boardTile, budget, start);
+        event.end();
+
+        move.ifPresent(computerMove -> {
+            logger.debug("Computer move in game {}: {}", game.getId(), computerMove);
+            ruleTimers.get(computerMove.getRule()).record(computerMove.getElapsedNanos(), TimeUnit.NANOSECONDS);
+            if (event.shouldCommit()) {
+                event.gameId = GameService.gameIdOf(game);
+                event.computerEngine = engine.name();
+                event.rule = computerMove.getRule().name();
+                event.tile = computerMove.getTile();
+                event.depthReached = computerMove.getDepthReached();
+                event.nodes = computerMove.getNodes();
+                event.commit();
+            }
+        });
+        turnTimers.get(engine).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return move;
     }
 
-    Optional<String> getPreferredTile(Game game) {
-        return isTileAvailable(game, CENTER_TILE) ? Optional.of(CENTER_TILE) : Optional.empty();
+    /**
+     * @return the time and node budget set in the application properties.
+     */
+    public MoveBudget getDefaultBudget() {
+        return MoveBudget.of(properties.getSearchTimeMillis(), properties.getSearchNodeBudget());
     }
 
-    Optional<String> getForkTile(Game game) {
-        Game.PlayerNumber nextPlayer = game.getNextMove();
-        if (nextPlayer == null) {
-            return Optional.empty();
-        }
-
-        BoardTile boardTile = gameService.getPlayersBoardTile(nextPlayer);
-        return findForkMove(game.getRows(), boardTile);
+    private Optional<ComputerMove> chooseAlphaBetaMove(Game game, BoardTile boardTile, MoveBudget budget, long start) {
+        return GameService.isClassicBoard(game)
+                ? chooseClassicMove(game, boardTile, budget, start)
+                : chooseSearchMove(game, boardTile, budget, start);
     }
 
-    Optional<String> getBlockingForkTile(Game game) {
-        Game.PlayerNumber nextPlayer = game.getNextMove();
-        if (nextPlayer == null) {
-            return Optional.empty();
+    private Optional<ComputerMove> chooseClassicMove(Game game, BoardTile boardTile, MoveBudget budget, long start) {
+        Board board = Board.fromRows(game.getRows());
+
+        int tile = RESPONSE_TABLE.getResponse(board, boardTile);
+        if (tile == Board.NO_TILE) {
+            tile = properties.isRandomFallback() ? findRandomEmptyTile(board) : lowestTile(board.getEmptyMask());
         }
 
-        BoardTile opponentTile = getOpponentTile(gameService.getPlayersBoardTile(nextPlayer));
-        return findForkBlockMove(game.getRows(), opponentTile);
+        if (tile == Board.NO_TILE) {
+            return Optional.empty();
+        }
+        DecisionRule rule = RESPONSE_TABLE.getRule(board, boardTile);
+        return Optional.of(new ComputerMove(tile, Board.SIZE, rule, budget, 0, 0, System.nanoTime() - start));
     }
 
-    Optional<String> getOppositeCornerTile(Game game) {
-        for (String cornerTile : CORNER_TILES) {
-            String oppositeCorner = getOppositeCorner(cornerTile);
-            if (isTileAvailable(game, oppositeCorner) && isCornerOwnedByOpponent(game, cornerTile)) {
-                return Optional.of(oppositeCorner);
+    private Optional<ComputerMove> chooseSearchMove(Game game, BoardTile boardTile, MoveBudget budget, long start) {
+        GridBoard board = GridBoard.fromRows(game.getRows(), GameService.getWinLength(game));
+        TranspositionTable table = getTranspositionTable();
+        long deadline = start + budget.getTimeMillis() * 1_000_000;
+
+        int tile;
+        int depthReached;
+        long nodes;
+        if (properties.getSearchThreads() > 1 && table != null) {
+            ParallelSearch search = new ParallelSearch(getSearchExecutor(), properties.getSearchThreads());
+            if (budget.hasTimeLimit()) {
+                search.setDeadline(deadline);
+            }
+            tile = search.findBestMove(board, boardTile, properties.getSearchDepth(), budget.getNodes(), table);
+            depthReached = search.getCompletedDepth();
+            nodes = search.getNodes();
+        } else {
+            AlphaBetaSearch search = new AlphaBetaSearch(board, properties.getSearchDepth(), budget.getNodes(), table);
+            if (budget.hasTimeLimit()) {
+                search.setDeadline(deadline);
             }
+            tile = search.findBestMove(boardTile);
+            depthReached = search.getCompletedDepth();
+            nodes = search.getNodes();
         }
-        return Optional.empty();
+
+        if (tile == Board.NO_TILE) {
+            return Optional.empty();
+        }
+        int columnCount = board.getGeometry().columnCount;
+        return Optional.of(new ComputerMove(
+                tile, columnCount, DecisionRule.SEARCH, budget, depthReached, nodes, System.nanoTime() - start
+        ));
     }
 
-    Optional<String> getCornerTile(Game game) {
-        for (String tileId : CORNER_TILES) {
-            if (isTileAvailable(game, tileId)) {
-                return Optional.of(tileId);
+    private Optional<ComputerMove> chooseMctsMove(Game game, BoardTile boardTile, MoveBudget budget, long start) {
+        GridBoard board = GridBoard.fromRows(game.getRows(), GameService.getWinLength(game));
+        int threads = properties.getSearchThreads();
+
+        MonteCarloTreeSearch search = idleTrees.poll();
+        if (search == null) {
+            search = new MonteCarloTreeSearch(properties.getMctsTreeNodes());
+        }
+        try {
+            if (budget.hasTimeLimit()) {
+                search.setDeadline(start + budget.getTimeMillis() * 1_000_000);
+            } else {
+                search.clearDeadline();
+            }
+
+            long playouts = Math.min(properties.getMctsPlayouts(), budget.getNodes());
+            int tile = search.search(board, boardTile, playouts, threads > 1 ? getSearchExecutor() : null, threads);
+            if (tile == Board.NO_TILE) {
+                return Optional.empty();
             }
+
+            int columnCount = board.getGeometry().columnCount;
+            return Optional.of(new ComputerMove(
+                    tile, columnCount, DecisionRule.SEARCH, budget, search.getMaxDepth(), search.getPlayouts(),
+                    System.nanoTime() - start
+            ));
+        } finally {
+            idleTrees.offer(search);
         }
-        return Optional.empty();
     }
 
-    Optional<String> getRandomEmptyTile(Game game) {
-        List<String> available = getAvailableTiles(game);
-        if (available.isEmpty()) {
-            return Optional.empty();
+    /**
+     * Walk priority rules 1-7 on the board. Each rule answers {@link Board#NO_TILE} when it does not apply. A tile that
+     * would lose a drawn or won game, or a fallback that could, is replaced by {@link #keepDrawOrWin}.
+     * @return the chosen tile index, or {@link Board#NO_TILE} when only a fallback move is left.
+     */
+    static int chooseRuleTile(Board board, BoardTile boardTile) {
+        return decisionTile(chooseRuleDecision(board, boardTile));
+    }
+
+    /**
+     * Like {@link #chooseRuleTile(Board, BoardTile)}, along with the rule that chose the tile.
+     * @return the tile and rule packed into one int, read with {@link #decisionTile(int)} and
+     *         {@link #decisionRule(int)}.
+     */
+    static int chooseRuleDecision(Board board, BoardTile boardTile) {
+        BoardTile opponentTile = getOpponentTile(boardTile);
+
+        DecisionRule rule = DecisionRule.WIN;
+        int tile = findCriticalMove(board, boardTile);
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.BLOCK;
+            tile = findCriticalMove(board, opponentTile);
+        }
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.CENTER;
+            tile = findCenterTile(board);
+        }
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.FORK;
+            tile = findForkMove(board, boardTile);
+        }
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.FORK_BLOCK;
+            tile = findForkBlockMove(board, opponentTile);
+        }
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.OPPOSITE_CORNER;
+            tile = findOppositeCornerTile(board);
+        }
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.CORNER;
+            tile = findCornerTile(board);
+        }
+        if (tile == Board.NO_TILE) {
+            rule = DecisionRule.RANDOM;
         }
 
-        return Optional.of(available.get(random.nextInt(available.size())));
+        int keptTile = keepDrawOrWin(board, boardTile, tile);
+        return keptTile == tile ? decision(tile, rule) : decision(keptTile, DecisionRule.PERFECT_PLAY);
     }
 
-    private Optional<String> findForkMove(List<List<String>> rows, BoardTile tileToMatch) {
-        for (String tileId : getAvailableTiles(rows)) {
-            if (createsFork(rows, tileId, tileToMatch)) {
-                return Optional.of(tileId);
-            }
-        }
-        return Optional.empty();
+    private static int decision(int tile, DecisionRule rule) {
+        return rule.ordinal() << Byte.SIZE | tile & 0xFF;
     }
 
-    private Optional<String> findForkBlockMove(List<List<String>> rows, BoardTile opponentTile) {
-        List<String> forkMoves = new ArrayList<>();
-        List<String> availableTiles = getAvailableTiles(rows);
+    static int decisionTile(int decision) {
+        return (byte) decision;
+    }
 
-        for (String tileId : availableTiles) {
-            if (createsFork(rows, tileId, opponentTile)) {
-                forkMoves.add(tileId);
-            }
+    static DecisionRule decisionRule(int decision) {
+        return DecisionRule.of(decision >>> Byte.SIZE);
+    }
+
+    /**
+     * @return the tile, unless it loses a game the player can still draw or win, or is {@link Board#NO_TILE} and some
+     *         empty tile would. Then the tile with the best result, the lowest on ties.
+     */
+    private static int keepDrawOrWin(Board board, BoardTile boardTile, int tile) {
+        if (PositionValues.valueOf(board, boardTile) == PositionValues.LOSS) {
+            return tile;
         }
 
-        if (forkMoves.isEmpty()) {
-            return Optional.empty();
+        boolean losing = false;
+        int bestTile = Board.NO_TILE;
+        int bestValue = Integer.MIN_VALUE;
+        for (int emptyTile = 0; emptyTile < Board.TILE_COUNT; emptyTile++) {
+            if (board.isEmpty(emptyTile)) {
+                int value = PositionValues.valueOfMove(board, boardTile, emptyTile);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestTile = emptyTile;
+                }
+                if (value == PositionValues.LOSS && (tile == Board.NO_TILE || tile == emptyTile)) {
+                    losing = true;
+                }
+            }
         }
+        return losing ? bestTile : tile;
+    }
 
-        if (forkMoves.size() == 1) {
-            return Optional.of(forkMoves.get(0));
+    /**
+     * @return the table of searched positions, or null when it is turned off.
+     */
+    TranspositionTable getTranspositionTable() {
+        if (properties.getTranspositionTableMegabytes() <= 0) {
+            return null;
         }
 
-        for (String tileId : availableTiles) {
-            if (!forkMoves.contains(tileId)) {
-                return Optional.of(tileId);
+        TranspositionTable table = transpositionTable;
+        if (table == null) {
+            synchronized (this) {
+                table = transpositionTable;
+                if (table == null) {
+                    table = new TranspositionTable(
+                            properties.getTranspositionTableMegabytes(), properties.getTranspositionTableReplacement()
+                    );
+                    transpositionTable = table;
+                }
             }
         }
-
-        return Optional.empty();
+        return table;
     }
 
-    private boolean createsFork(List<List<String>> rows, String tileId, BoardTile tileToMatch) {
-        List<List<String>> simulatedRows = copyRows(rows);
-        applyMove(simulatedRows, tileId, tileToMatch.toString());
-
-        int threats = 0;
-        for (Line line : getLines(simulatedRows)) {
-            if (countMatchingTiles(line.tiles, tileToMatch.toString()) == 2
-                    && countEmptyTiles(line.tiles) == 1) {
-                threats++;
+    /**
+     * @return a pool of (search threads - 1) daemon threads. Its queue holds a few moves' worth of helpers; past that
+     *         helpers are turned away and moves are searched with fewer of them.
+     */
+    private ExecutorService getSearchExecutor() {
+        ExecutorService executor = searchExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = searchExecutor;
+                if (executor == null) {
+                    int helperThreads = properties.getSearchThreads() - 1;
+                    AtomicInteger threadCount = new AtomicInteger();
+                    executor = new ThreadPoolExecutor(
+                            helperThreads, helperThreads, 0, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(helperThreads * 4),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "computer-search-" + threadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }
+                    );
+                    searchExecutor = executor;
+                }
             }
         }
-
-        return threats >= 2;
+        return executor;
     }
 
-    private List<List<String>> copyRows(List<List<String>> rows) {
-        List<List<String>> copy = new ArrayList<>();
-        for (List<String> row : rows) {
-            copy.add(new ArrayList<>(row));
+    @PreDestroy
+    void shutdown() {
+        ExecutorService executor = searchExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
         }
-        return copy;
     }
 
-    private void applyMove(List<List<String>> rows, String tileId, String value) {
-        String[] indices = tileId.split("-");
-        int rowIndex = Integer.parseInt(indices[0]);
-        int columnIndex = Integer.parseInt(indices[1]);
-        rows.get(rowIndex).set(columnIndex, value);
+    Optional<String> getBlockingTile(Game game) {
+        Game.PlayerNumber nextPlayer = game.getNextMove();
+        if (nextPlayer == null) {
+            return Optional.empty();
+        }
+
+        BoardTile opponentTile = getOpponentTile(gameService.getPlayersBoardTile(nextPlayer));
+        return toTileId(findCriticalMove(Board.fromRows(game.getRows()), opponentTile));
     }
 
-    private int countMatchingTiles(List<String> line, String value) {
-        int count = 0;
-        for (String tile : line) {
-            if (tile.equals(value)) {
-                count++;
-            }
+    Optional<String> getWinningTile(Game game) {
+        Game.PlayerNumber nextPlayer = game.getNextMove();
+        if (nextPlayer == null) {
+            return Optional.empty();
         }
-        return count;
+
+        BoardTile boardTile = gameService.getPlayersBoardTile(nextPlayer);
+        return toTileId(findCriticalMove(Board.fromRows(game.getRows()), boardTile));
     }
 
-    private int countEmptyTiles(List<String> line) {
-        int count = 0;
-        for (String tile : line) {
-            if (tile.isEmpty()) {
-                count++;
-            }
-        }
-        return count;
+    Optional<String> getPreferredTile(Game game) {
+        return toTileId(findCenterTile(Board.fromRows(game.getRows())));
     }
 
-    private String getOppositeCorner(String tileId) {
-        switch (tileId) {
-            case "0-0": return "2-2";
-            case "0-2": return "2-0";
-            case "2-0": return "0-2";
-            case "2-2": return "0-0";
-            default: throw new IllegalArgumentException("Not a corner tile: " + tileId);
+    Optional<String> getForkTile(Game game) {
+        Game.PlayerNumber nextPlayer = game.getNextMove();
+        if (nextPlayer == null) {
+            return Optional.empty();
         }
+
+        BoardTile boardTile = gameService.getPlayersBoardTile(nextPlayer);
+        return toTileId(findForkMove(Board.fromRows(game.getRows()), boardTile));
     }
 
-    private boolean isCornerOwnedByOpponent(Game game, String tileId) {
-        String[] indices = tileId.split("-");
-        int rowIndex = Integer.parseInt(indices[0]);
-        int columnIndex = Integer.parseInt(indices[1]);
+    Optional<String> getBlockingForkTile(Game game) {
+        Game.PlayerNumber nextPlayer = game.getNextMove();
+        if (nextPlayer == null) {
+            return Optional.empty();
+        }
+
+        BoardTile opponentTile = getOpponentTile(gameService.getPlayersBoardTile(nextPlayer));
+        return toTileId(findForkBlockMove(Board.fromRows(game.getRows()), opponentTile));
+    }
 
-        return !game.getRows().get(rowIndex).get(columnIndex).isEmpty()
-                && CORNER_TILES.contains(tileId);
+    Optional<String> getOppositeCornerTile(Game game) {
+        return toTileId(findOppositeCornerTile(Board.fromRows(game.getRows())));
     }
 
-    private boolean isTileAvailable(Game game, String tileId) {
-        String[] indices = tileId.split("-");
-        int rowIndex = Integer.parseInt(indices[0]);
-        int columnIndex = Integer.parseInt(indices[1]);
+    Optional<String> getCornerTile(Game game) {
+        return toTileId(findCornerTile(Board.fromRows(game.getRows())));
+    }
 
-        return game.getRows().get(rowIndex).get(columnIndex).isEmpty();
+    Optional<String> getRandomEmptyTile(Game game) {
+        return toTileId(findRandomEmptyTile(Board.fromRows(game.getRows())));
     }
 
-    private BoardTile getOpponentTile(BoardTile boardTile) {
-        return boardTile == BoardTile.X ? BoardTile.O : BoardTile.X;
+    private static int findCenterTile(Board board) {
+        return board.isEmpty(Board.CENTER) ? Board.CENTER : Board.NO_TILE;
     }
 
-    private Optional<String> findCriticalMove(List<List<String>> rows, BoardTile tileToMatch) {
-        for (Line line : getLines(rows)) {
-            Optional<String> move = findMoveInLine(line, tileToMatch);
-            if (move.isPresent()) {
-                return move;
+    private static int findForkMove(Board board, BoardTile tileToMatch) {
+        int available = board.getEmptyMask();
+        for (int tile = 0; tile < Board.TILE_COUNT; tile++) {
+            if ((available & Board.bit(tile)) != 0 && createsFork(board, tile, tileToMatch)) {
+                return tile;
             }
         }
-        return Optional.empty();
+        return Board.NO_TILE;
     }
 
-    private Optional<String> findMoveInLine(Line line, BoardTile tileToMatch) {
-        int matchingTiles = 0;
-        int emptyIndex = -1;
+    private static int findForkBlockMove(Board board, BoardTile opponentTile) {
+        int available = board.getEmptyMask();
 
-        for (int i = 0; i < line.tiles.size(); i++) {
-            String tile = line.tiles.get(i);
-            if (tile.equals(tileToMatch.toString())) {
-                matchingTiles++;
-            } else if (tile.isEmpty()) {
-                emptyIndex = i;
+        int forkMoves = 0;
+        for (int tile = 0; tile < Board.TILE_COUNT; tile++) {
+            if ((available & Board.bit(tile)) != 0 && createsFork(board, tile, opponentTile)) {
+                forkMoves |= Board.bit(tile);
             }
         }
 
-        if (matchingTiles == 2 && emptyIndex >= 0) {
-            return Optional.of(line.tileIds.get(emptyIndex));
+        if (forkMoves == 0) {
+            return Board.NO_TILE;
         }
 
-        return Optional.empty();
+        if (Integer.bitCount(forkMoves) == 1) {
+            return Integer.numberOfTrailingZeros(forkMoves);
+        }
+
+        return lowestTile(available & ~forkMoves);
     }
 
-    private List<Line> getLines(List<List<String>> rows) {
-        List<Line> lines = new ArrayList<>();
+    /**
+     * A fork is a move after which the player has two lines that each hold two of their tiles and one empty tile.
+     * The move is made on the board, its threats counted and the move undone again, so nothing is copied.
+     */
+    private static boolean createsFork(Board board, int tile, BoardTile tileToMatch) {
+        board.place(tile, tileToMatch);
+        int threats = board.countThreats(tileToMatch);
+        board.clear(tile);
 
-        for (int rowIndex = 0; rowIndex < BOARD_SIZE; rowIndex++) {
-            lines.add(new Line(
-                    rows.get(rowIndex),
-                    List.of(rowIndex + "-0", rowIndex + "-1", rowIndex + "-2")
-            ));
-        }
+        return threats >= 2;
+    }
 
-        for (int columnIndex = 0; columnIndex < BOARD_SIZE; columnIndex++) {
-            List<String> column = new ArrayList<>();
-            for (int rowIndex = 0; rowIndex < BOARD_SIZE; rowIndex++) {
-                column.add(rows.get(rowIndex).get(columnIndex));
+    private static int findOppositeCornerTile(Board board) {
+        for (int cornerTile : Board.CORNERS) {
+            int oppositeCorner = Board.OPPOSITE_CORNERS[cornerTile];
+            if (board.isEmpty(oppositeCorner) && board.isOccupied(cornerTile)) {
+                return oppositeCorner;
             }
-            lines.add(new Line(
-                    column,
-                    List.of("0-" + columnIndex, "1-" + columnIndex, "2-" + columnIndex)
-            ));
         }
+        return Board.NO_TILE;
+    }
 
-        lines.add(new Line(
-                List.of(rows.get(0).get(0), rows.get(1).get(1), rows.get(2).get(2)),
-                List.of("0-0", "1-1", "2-2")
-        ));
+    private static int findCornerTile(Board board) {
+        for (int cornerTile : Board.CORNERS) {
+            if (board.isEmpty(cornerTile)) {
+                return cornerTile;
+            }
+        }
+        return Board.NO_TILE;
+    }
 
-        lines.add(new Line(
-                List.of(rows.get(0).get(2), rows.get(1).get(1), rows.get(2).get(0)),
-                List.of("0-2", "1-1", "2-0")
-        ));
+    private int findRandomEmptyTile(Board board) {
+        int available = board.getEmptyMask();
+        if (available == 0) {
+            return Board.NO_TILE;
+        }
 
-        return lines;
+        for (int skip = random.get().nextInt(Integer.bitCount(available)); skip > 0; skip--) {
+            available &= available - 1;
+        }
+        return Integer.numberOfTrailingZeros(available);
     }
 
-    private List<String> getAvailableTiles(Game game) {
-        return getAvailableTiles(game.getRows());
+    private static BoardTile getOpponentTile(BoardTile boardTile) {
+        return boardTile == BoardTile.X ? BoardTile.O : BoardTile.X;
     }
 
-    private List<String> getAvailableTiles(List<List<String>> rows) {
-        List<String> availableTiles = new ArrayList<>();
+    /**
+     * Find a line holding two matching tiles and one empty tile, and return the empty tile.
+     */
+    private static int findCriticalMove(Board board, BoardTile tileToMatch) {
+        int matching = board.getMask(tileToMatch);
+        int empty = board.getEmptyMask();
 
-        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
-            List<String> row = rows.get(rowIndex);
-            for (int columnIndex = 0; columnIndex < row.size(); columnIndex++) {
-                if (row.get(columnIndex).isEmpty()) {
-                    availableTiles.add(rowIndex + "-" + columnIndex);
-                }
+        for (int line : Board.LINES) {
+            if (Integer.bitCount(matching & line) == 2 && (empty & line) != 0) {
+                return Integer.numberOfTrailingZeros(empty & line);
             }
         }
-
-        return availableTiles;
+        return Board.NO_TILE;
     }
 
-    private static final class Line {
-        private final List<String> tiles;
-        private final List<String> tileIds;
+    private static int lowestTile(int mask) {
+        return mask == 0 ? Board.NO_TILE : Integer.numberOfTrailingZeros(mask);
+    }
 
-        private Line(List<String> tiles, List<String> tileIds) {
-            this.tiles = tiles;
-            this.tileIds = tileIds;
-        }
+    private Optional<String> toTileId(int tile) {
+        return tile == Board.NO_TILE ? Optional.empty() : Optional.of(Board.tileId(tile));
     }
 
     /**
@@ -343,4 +650,4 @@ public class ComputerPlayerService {
     public void takeTurnForComputer(Game game, String tileId) {
         this.gameService.takeTurn(game, tileId);
     }
-}
\ No newline at end of file
+}
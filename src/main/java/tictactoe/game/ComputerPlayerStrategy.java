@@ -0,0 +1,21 @@
+package tictactoe.game;
+
+import tictactoe.game.entity.Game;
+
+import java.util.Optional;
+
+/**
+ * One way for the computer player to pick a move, chosen per game by its {@link Game.ComputerEngine}.
+ */
+@FunctionalInterface
+interface ComputerPlayerStrategy {
+
+    /**
+     * @param game the game, with the computer to move.
+     * @param boardTile the computer's tile.
+     * @param budget how long the strategy may think.
+     * @param start the {@link System#nanoTime()} the turn started at, which the time budget counts from.
+     * @return the move to make, or empty if there is none.
+     */
+    Optional<ComputerMove> chooseMove(Game game, BoardTile boardTile, MoveBudget budget, long start);
+}
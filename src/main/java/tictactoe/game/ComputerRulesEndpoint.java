@@ -0,0 +1,61 @@
+package tictactoe.game;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debug endpoint at /actuator/computerrules: for each {@link DecisionRule}, how many moves it chose and the
+ * nanoseconds spent choosing them, since the server started.
+ */
+@Component
+@Endpoint(id = "computerrules")
+public class ComputerRulesEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ComputerRulesEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<DecisionRule, RuleStatistics> rules() {
+        Map<DecisionRule, RuleStatistics> rules = new EnumMap<>(DecisionRule.class);
+        for (Timer timer : meterRegistry.find(ComputerPlayerService.RULE_TIMER).timers()) {
+            DecisionRule rule = DecisionRule.valueOf(timer.getId().getTag("rule"));
+            rules.put(rule, new RuleStatistics(timer.count(), (long) timer.totalTime(TimeUnit.NANOSECONDS)));
+        }
+        return rules;
+    }
+
+    public static final class RuleStatistics {
+
+        private final long hits;
+        private final long totalNanos;
+
+        RuleStatistics(long hits, long totalNanos) {
+            this.hits = hits;
+            this.totalNanos = totalNanos;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return hits == 0 ? 0 : totalNanos / hits;
+        }
+    }
+}
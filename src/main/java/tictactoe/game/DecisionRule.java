@@ -0,0 +1,34 @@
+package tictactoe.game;
+
+/**
+ * What decided a computer move: one of the 3x3 priority rules of {@link ComputerPlayerService#takeTurn}, in order, or
+ * a search on any other board.
+ */
+public enum DecisionRule {
+    WIN,
+    BLOCK,
+    CENTER,
+    FORK,
+    FORK_BLOCK,
+    OPPOSITE_CORNER,
+    CORNER,
+    /**
+     * A rule's move, or the fallback, would have lost a game that could still be drawn or won, and the best move of a
+     * full search was played instead.
+     */
+    PERFECT_PLAY,
+    /**
+     * No rule applied: a random empty tile, or the first one when the random fallback is turned off.
+     */
+    RANDOM,
+    /**
+     * An {@link AlphaBetaSearch} on a larger board, or a {@link MonteCarloTreeSearch} on any.
+     */
+    SEARCH;
+
+    private static final DecisionRule[] VALUES = values();
+
+    static DecisionRule of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
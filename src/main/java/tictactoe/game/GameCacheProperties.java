@@ -0,0 +1,80 @@
+package tictactoe.game;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@link ActiveGameCache}, bound from the "tictactoe.game-cache.*" application properties.
+ * A new instance holds the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "tictactoe.game-cache")
+public class GameCacheProperties {
+
+    /**
+     * Users whose latest game is kept in memory, the least recently played dropped past that. 0 turns the cache off
+     * and saves every move as it is made.
+     */
+    private int maxGames = 10_000;
+
+    /**
+     * Time between writes of the changed games to the database.
+     */
+    private long flushIntervalMillis = 200;
+
+    /**
+     * Games written per database transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Games and moves waiting to be written past which new ones are turned away, bounding the memory held while the
+     * database is down.
+     */
+    private int maxPendingWrites = 100_000;
+
+    /**
+     * Flushes that may fail to write a user's game, written alone, before the write is logged and dropped.
+     */
+    private int maxWriteAttempts = 5;
+
+    public int getMaxGames() {
+        return maxGames;
+    }
+
+    public void setMaxGames(int maxGames) {
+        this.maxGames = maxGames;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxPendingWrites() {
+        return maxPendingWrites;
+    }
+
+    public void setMaxPendingWrites(int maxPendingWrites) {
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    public int getMaxWriteAttempts() {
+        return maxWriteAttempts;
+    }
+
+    public void setMaxWriteAttempts(int maxWriteAttempts) {
+        this.maxWriteAttempts = maxWriteAttempts;
+    }
+}
@@ -0,0 +1,37 @@
+package tictactoe.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for {@link GameService#create}, the user's old games deleted and the new one saved.
+ */
+@Name("tictactoe.GameCreated")
+@Label("Game Created")
+@Category({"Tic Tac Toe", "Game"})
+@Description("A new game started, the user's earlier games deleted")
+@StackTrace(false)
+final class GameCreatedEvent extends Event {
+
+    @Label("Game Id")
+    long gameId;
+
+    @Label("Rows")
+    int rowCount;
+
+    @Label("Columns")
+    int columnCount;
+
+    @Label("Win Length")
+    int winLength;
+
+    @Label("Engine")
+    String computerEngine;
+
+    @Label("Player Goes First")
+    boolean playerGoFirst;
+}
@@ -0,0 +1,142 @@
+package tictactoe.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.GameState;
+import tictactoe.game.entity.GameMove;
+import tictactoe.game.entity.GameMoveRepository;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.AppUserCache;
+import tictactoe.user.entity.AppUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Games saved as an append-only log of their moves, {@link GameMove}, with the game's own row a snapshot of it every
+ * snapshot interval moves and when it ends. A game is loaded from its snapshot and the few moves made after it. A new
+ * game is only inserted: the user's earlier games stay, until {@link GameHistoryCompactor} folds their moves into their
+ * snapshots and deletes the oldest.
+ *
+ * The user's latest game is pointed to by {@link AppUser#getCurrentGameId()}, set when a game is created, so loading it
+ * is a lookup by key however many games the user has.
+ *
+ * Made with only a game repository, it keeps no log and saves the game's row on every move instead, and finds the
+ * latest game among the user's by their highest id.
+ */
+@Component
+public class GameEventStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameEventStore.class);
+
+    private final GameRepository gameRepository;
+    private final GameMoveRepository moveRepository;
+    private final AppUserCache appUserCache;
+    private final int snapshotInterval;
+
+    public GameEventStore(GameRepository gameRepository) {
+        this(gameRepository, null, null, 1);
+    }
+
+    @Autowired
+    public GameEventStore(
+            GameRepository gameRepository, GameMoveRepository moveRepository, AppUserCache appUserCache,
+            GameHistoryProperties properties
+    ) {
+        this(gameRepository, moveRepository, appUserCache, properties.getSnapshotInterval());
+    }
+
+    private GameEventStore(
+            GameRepository gameRepository, GameMoveRepository moveRepository, AppUserCache appUserCache,
+            int snapshotInterval
+    ) {
+        this.gameRepository = gameRepository;
+        this.moveRepository = moveRepository;
+        this.appUserCache = appUserCache;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    /**
+     * A user who has not created a game since the pointer was added, or whose game it points to is gone, has their
+     * latest game looked up among theirs instead.
+     * @return the user's latest game, brought up to date, or null if they have none. Its user is the one given.
+     */
+    Game loadLatest(AppUser appUser) {
+        Long currentGameId = appUserCache == null ? null : appUser.getCurrentGameId();
+        Game game = currentGameId == null
+                ? gameRepository.findFirstByAppUserOrderByIdDesc(appUser)
+                : gameRepository.findById(currentGameId)
+                        .orElseGet(() -> gameRepository.findFirstByAppUserOrderByIdDesc(appUser));
+        if (game != null) {
+            // in place of the user not loaded with it
+            game.setAppUser(appUser);
+            replayMoves(game);
+        }
+        return game;
+    }
+
+    /**
+     * Place the game's logged moves made after its snapshot. The rows are replaced by a copy first, so that a game
+     * loaded in a transaction is seen to have changed and saved again when it commits.
+     */
+    void replayMoves(Game game) {
+        if (moveRepository == null) {
+            return;
+        }
+
+        int snapshotMoveCount = GameService.getMoveCount(game);
+        List<GameMove> moves =
+                moveRepository.findByGameAndMoveNumberGreaterThanOrderByMoveNumber(game, snapshotMoveCount);
+        if (moves.isEmpty()) {
+            return;
+        }
+
+        game.setMoveCount(snapshotMoveCount);
+        game.setRows(BoardUtil.copyRows(game.getRows()));
+        for (GameMove move : moves) {
+            if (move.getMoveNumber() != game.getMoveCount() + 1 || !GameService.applyMove(game, move.getTile())) {
+                logger.warn("Game {} stopped replaying at move {} of tile {}", game.getId(), move.getMoveNumber(), move.getTile());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Insert a game not saved before, and point its user to it. The users kept by {@link AppUserCache} are only pointed
+     * to it once the transaction commits.
+     */
+    void create(Game game) {
+        gameRepository.save(game);
+        if (appUserCache != null) {
+            AppUser appUser = game.getAppUser();
+            appUserCache.updateCurrentGameId(appUser.getId(), game.getId());
+            appUser.setCurrentGameId(game.getId());
+        }
+    }
+
+    /**
+     * Append moves placed on a game, and snapshot it if they reach a multiple of the snapshot interval or end it.
+     * @param firstMoveNumber the number of the first of the tiles, 1 for the game's first move.
+     */
+    void append(Game game, int firstMoveNumber, int... tiles) {
+        if (moveRepository == null) {
+            gameRepository.save(game);
+            return;
+        }
+
+        List<GameMove> moves = new ArrayList<>(tiles.length);
+        for (int index = 0; index < tiles.length; index++) {
+            moves.add(new GameMove(game, firstMoveNumber + index, tiles[index]));
+        }
+        moveRepository.saveAll(moves);
+
+        int lastMoveNumber = firstMoveNumber + tiles.length - 1;
+        if (game.getState() != GameState.IN_PROGRESS
+                || lastMoveNumber / snapshotInterval > (firstMoveNumber - 1) / snapshotInterval) {
+            gameRepository.save(game);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package tictactoe.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.GameState;
+import tictactoe.game.entity.GameMoveRepository;
+import tictactoe.game.entity.GameRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the game history of {@link GameEventStore} from growing without end, off the request path. Every compact
+ * interval, a daemon thread folds the moves of games that will get no more, those over and those given up for a newer
+ * game, into their snapshots and deletes the moves, then deletes each user's games past the number kept. Both go a
+ * batch of games to a transaction.
+ *
+ * Only made when "tictactoe.game-history.compact-enabled" is true, as it is by default. Turned off, the moves and
+ * games pile up until compacted some other way.
+ */
+@Component
+@ConditionalOnProperty(name = "tictactoe.game-history.compact-enabled", havingValue = "true", matchIfMissing = true)
+public class GameHistoryCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameHistoryCompactor.class);
+
+    private final GameEventStore eventStore;
+    private final GameRepository gameRepository;
+    private final GameMoveRepository moveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int keepGamesPerUser;
+    private final int batchSize;
+    private final ScheduledExecutorService compactExecutor;
+
+    @Autowired
+    public GameHistoryCompactor(
+            GameEventStore eventStore, GameRepository gameRepository, GameMoveRepository moveRepository,
+            PlatformTransactionManager transactionManager, GameHistoryProperties properties
+    ) {
+        this.eventStore = eventStore;
+        this.gameRepository = gameRepository;
+        this.moveRepository = moveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keepGamesPerUser = properties.getKeepGamesPerUser();
+        this.batchSize = properties.getCompactBatchSize();
+
+        this.compactExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-history-compact");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getCompactIntervalMillis();
+        compactExecutor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void compact() {
+        try {
+            int folded = foldSettledGames();
+            int deleted = keepGamesPerUser > 0 ? deleteOlderGames() : 0;
+            if (folded > 0 || deleted > 0) {
+                logger.info("Folded the moves of {} games into their snapshots, deleted {} old games", folded, deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not compact the game history, trying again on the next run", e);
+        }
+    }
+
+    /**
+     * The games are loaded in the transaction, so the moves replayed on them are saved when it commits.
+     * @return the games whose moves were folded.
+     */
+    int foldSettledGames() {
+        int folded = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> {
+                List<Game> games = moveRepository.findSettledGames(GameState.IN_PROGRESS, PageRequest.of(0, batchSize));
+                List<Long> gameIds = new ArrayList<>(games.size());
+                for (Game game : games) {
+                    eventStore.replayMoves(game);
+                    gameIds.add(game.getId());
+                }
+                if (!gameIds.isEmpty()) {
+                    moveRepository.deleteByGameIds(gameIds);
+                }
+                return games.size();
+            });
+            folded += count;
+        } while (count == batchSize);
+        return folded;
+    }
+
+    /**
+     * Each user with more games than kept has theirs up to a cutoff deleted: the newest game not kept, found by paging
+     * past the kept ones on the user and id index.
+     * @return the games deleted.
+     */
+    int deleteOlderGames() {
+        int deleted = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> {
+                List<Long> gameIds = new ArrayList<>(batchSize);
+                List<Long> appUserIds =
+                        gameRepository.findIdsOfUsersWithMoreGamesThan(keepGamesPerUser, PageRequest.of(0, batchSize));
+                for (Long appUserId : appUserIds) {
+                    List<Long> cutoff =
+                            gameRepository.findIdsByAppUserIdNewestFirst(appUserId, PageRequest.of(keepGamesPerUser, 1));
+                    if (!cutoff.isEmpty()) {
+                        gameIds.addAll(gameRepository.findIdsByAppUserIdUpTo(
+                                appUserId, cutoff.get(0), PageRequest.of(0, batchSize - gameIds.size())
+                        ));
+                    }
+                    if (gameIds.size() == batchSize) {
+                        break;
+                    }
+                }
+                if (!gameIds.isEmpty()) {
+                    moveRepository.deleteByGameIds(gameIds);
+                    gameRepository.deleteByIds(gameIds);
+                }
+                return gameIds.size();
+            });
+            deleted += count;
+        } while (count == batchSize);
+        return deleted;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        compactExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,78 @@
+package tictactoe.game;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@link GameEventStore} and {@link GameHistoryCompactor}, bound from the "tictactoe.game-history.*"
+ * application properties. A new instance holds the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "tictactoe.game-history")
+public class GameHistoryProperties {
+
+    /**
+     * Moves between snapshots of a game, so a load replays fewer than this many. A game is also snapshot when it ends.
+     */
+    private int snapshotInterval = 8;
+
+    /**
+     * Whether the compactor runs at all. Only read to decide whether to make it, see {@link GameHistoryCompactor}.
+     */
+    private boolean compactEnabled = true;
+
+    /**
+     * Time between runs of the compactor.
+     */
+    private long compactIntervalMillis = 60_000;
+
+    /**
+     * Games kept per user, their latest included, older ones deleted by the compactor. 0 keeps every game.
+     */
+    private int keepGamesPerUser = 20;
+
+    /**
+     * Games the compactor handles per database transaction.
+     */
+    private int compactBatchSize = 500;
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public boolean isCompactEnabled() {
+        return compactEnabled;
+    }
+
+    public void setCompactEnabled(boolean compactEnabled) {
+        this.compactEnabled = compactEnabled;
+    }
+
+    public long getCompactIntervalMillis() {
+        return compactIntervalMillis;
+    }
+
+    public void setCompactIntervalMillis(long compactIntervalMillis) {
+        this.compactIntervalMillis = compactIntervalMillis;
+    }
+
+    public int getKeepGamesPerUser() {
+        return keepGamesPerUser;
+    }
+
+    public void setKeepGamesPerUser(int keepGamesPerUser) {
+        this.keepGamesPerUser = keepGamesPerUser;
+    }
+
+    public int getCompactBatchSize() {
+        return compactBatchSize;
+    }
+
+    public void setCompactBatchSize(int compactBatchSize) {
+        this.compactBatchSize = compactBatchSize;
+    }
+}
@@ -0,0 +1,26 @@
+package tictactoe.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for each game the {@link GameService} saves, to the repository or, when writes are held back,
+ * to {@link ActiveGameCache} to be written by its next flush.
+ */
+@Name("tictactoe.GamePersisted")
+@Label("Game Persisted")
+@Category({"Tic Tac Toe", "Game"})
+@Description("A game saved to the repository, or to the cache that writes it behind")
+@StackTrace(false)
+final class GamePersistedEvent extends Event {
+
+    @Label("Game Id")
+    long gameId;
+
+    @Label("Move Count")
+    int moveCount;
+}
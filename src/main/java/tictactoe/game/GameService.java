@@ -1,35 +1,209 @@
 package tictactoe.game;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tictactoe.ServerTiming;
+import tictactoe.ServerTiming.Stage;
 import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
 import tictactoe.game.entity.Game.GameState;
 import tictactoe.game.entity.Game.PlayerNumber;
 import tictactoe.game.entity.Game.PlayerType;
 import tictactoe.game.entity.GameRepository;
 import tictactoe.user.entity.AppUser;
 
+import java.util.EnumMap;
 import java.util.List;
-
-import static tictactoe.game.BoardUtil.getAllPossibleLines;
-
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Moves are placed on a game holding its lock, the game itself: the one kept in memory by {@link ActiveGameCache} is
+ * shared by all of its user's requests.
+ */
 @Service
 public class GameService {
 
-    private static final int BOARD_SIZE = 3;
+    private static final int CLASSIC_SIZE = 3;
+    /**
+     * The most rows or columns a board may have.
+     */
+    static final int MAX_SIZE = 19;
+    private static final int MAX_WIN_LENGTH = 8;
+
+    /**
+     * How long the count of games in progress is reused, so that scrapes do not each run its query.
+     */
+    private static final long IN_PROGRESS_COUNT_TTL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * Returned by {@link #parseTileId(Game, String)} for a tile id that is not on the board.
+     */
+    public static final int NO_TILE = Board.NO_TILE;
 
     private final GameRepository gameRepository;
+    private final ActiveGameCache activeGames;
+    private final Timer createTimer;
+    private final Timer takeTurnTimer;
+    private final Map<GameState, Counter> finishedGames = new EnumMap<>(GameState.class);
 
-    @Autowired
+    /**
+     * The last count of games in progress, null until first counted, and when it is to be counted again. Guarded by
+     * inProgressLock.
+     */
+    private final Object inProgressLock = new Object();
+    private Long gamesInProgress;
+    private long gamesInProgressExpiresAt;
+
+    /**
+     * A service that records no metrics.
+     */
     public GameService(GameRepository gameRepository) {
+        this(gameRepository, new CompositeMeterRegistry());
+    }
+
+    /**
+     * A service that saves every game as it changes.
+     */
+    public GameService(GameRepository gameRepository, MeterRegistry meterRegistry) {
+        this(gameRepository, meterRegistry, new ActiveGameCache(gameRepository));
+    }
+
+    /**
+     * Times creating games and taking turns, counts finished games by how they ended and gauges the games in progress.
+     * Games are loaded and saved through activeGames.
+     */
+    @Autowired
+    public GameService(GameRepository gameRepository, MeterRegistry meterRegistry, ActiveGameCache activeGames) {
         this.gameRepository = gameRepository;
+        this.activeGames = activeGames;
+        this.createTimer = Timer.builder("tictactoe.game.create")
+                .description("Time to start a new game")
+                .register(meterRegistry);
+        this.takeTurnTimer = Timer.builder("tictactoe.game.turn")
+                .description("Time to place a move and evaluate the game, and to save it when placed on its own")
+                .register(meterRegistry);
+
+        for (GameState state : GameState.values()) {
+            if (state != GameState.IN_PROGRESS) {
+                finishedGames.put(state, Counter.builder("tictactoe.games.finished")
+                        .description("Games that ended, by outcome")
+                        .tag("state", state.name())
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("tictactoe.games.in.progress", this, GameService::countGamesInProgress)
+                .description("Latest games of their users saved and not yet over, counted at most every 5 s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Games written behind by {@link ActiveGameCache} are counted once written, a flush interval later.
+     * @return the latest games of their users saved and in progress, as counted in the last few seconds.
+     */
+    private double countGamesInProgress() {
+        synchronized (inProgressLock) {
+            long now = System.nanoTime();
+            if (gamesInProgress == null || gamesInProgressExpiresAt - now <= 0) {
+                gamesInProgress = gameRepository.countLatestByState(GameState.IN_PROGRESS);
+                gamesInProgressExpiresAt = now + IN_PROGRESS_COUNT_TTL_NANOS;
+            }
+            return gamesInProgress;
+        }
     }
 
     @Transactional
     public Game create(AppUser appUser, boolean playerGoFirst) {
+        return create(appUser, playerGoFirst, BoardVariant.CLASSIC);
+    }
+
+    @Transactional
+    public Game create(AppUser appUser, boolean playerGoFirst, BoardVariant variant) {
+        return create(appUser, playerGoFirst, variant, ComputerEngine.ALPHA_BETA);
+    }
 
-        gameRepository.deleteUserGames(appUser);
+    @Transactional
+    public Game create(AppUser appUser, boolean playerGoFirst, BoardVariant variant, ComputerEngine computerEngine) {
+        return create(
+                appUser, playerGoFirst,
+                variant.getRowCount(), variant.getColumnCount(), variant.getWinLength(), computerEngine
+        );
+    }
+
+    @Transactional
+    public Game create(AppUser appUser, boolean playerGoFirst, int rowCount, int columnCount, int winLength) {
+        return create(appUser, playerGoFirst, rowCount, columnCount, winLength, ComputerEngine.ALPHA_BETA);
+    }
+
+    /**
+     * Start a new game on a rowCount x columnCount board, won by placing winLength tiles in a row, column or diagonal,
+     * against a computer player using the given engine.
+     */
+    @Transactional
+    public Game create(
+            AppUser appUser, boolean playerGoFirst, int rowCount, int columnCount, int winLength,
+            ComputerEngine computerEngine
+    ) {
+        return create(appUser, playerGoFirst, rowCount, columnCount, winLength, computerEngine, false);
+    }
+
+    /**
+     * Start a new game with the computer going first, its opening move placed on the center tile to give it a small
+     * advantage. The move is placed before the game is first saved, so that the game is written once with it.
+     */
+    public Game createComputerFirst(AppUser appUser, BoardVariant variant, ComputerEngine computerEngine) {
+        return create(
+                appUser, false,
+                variant.getRowCount(), variant.getColumnCount(), variant.getWinLength(), computerEngine, true
+        );
+    }
+
+    private Game create(
+            AppUser appUser, boolean playerGoFirst, int rowCount, int columnCount, int winLength,
+            ComputerEngine computerEngine, boolean centerOpening
+    ) {
+        GameCreatedEvent event = new GameCreatedEvent();
+        event.begin();
+
+        Game game = createTimer.record(
+                () -> newGame(appUser, playerGoFirst, rowCount, columnCount, winLength, computerEngine, centerOpening)
+        );
+
+        if (event.shouldCommit()) {
+            event.gameId = gameIdOf(game);
+            event.rowCount = rowCount;
+            event.columnCount = columnCount;
+            event.winLength = winLength;
+            event.computerEngine = computerEngine.name();
+            event.playerGoFirst = playerGoFirst;
+            event.commit();
+        }
+        return game;
+    }
+
+    /**
+     * @param centerOpening true to place the first move on the center tile before saving.
+     */
+    private Game newGame(
+            AppUser appUser, boolean playerGoFirst, int rowCount, int columnCount, int winLength,
+            ComputerEngine computerEngine, boolean centerOpening
+    ) {
+        if (rowCount < CLASSIC_SIZE || rowCount > MAX_SIZE || columnCount < CLASSIC_SIZE || columnCount > MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported board size: " + rowCount + "x" + columnCount);
+        }
+        if (winLength < CLASSIC_SIZE || winLength > MAX_WIN_LENGTH || winLength > Math.max(rowCount, columnCount)) {
+            throw new IllegalArgumentException("Unsupported win length " + winLength + " for board " + rowCount + "x" + columnCount);
+        }
+
+        activeGames.checkCapacity();
 
         Game game = new Game();
         game.setAppUser(appUser);
@@ -44,15 +218,20 @@ public class GameService {
             game.setPlayer2Type(PlayerType.HUMAN);
         }
 
-        game.setRows(BoardUtil.createEmpty());
+        game.setRows(BoardUtil.createEmpty(rowCount, columnCount));
+        game.setWinLength(winLength);
+        game.setComputerEngine(computerEngine);
+        if (centerOpening) {
+            placeMove(game, getCenterTile(game));
+        }
 
-        gameRepository.save(game);
+        save(game, true);
 
         return game;
     }
 
     public Game getLastGame(AppUser appUser) {
-        return gameRepository.findFirstByAppUserOrderByIdDesc(appUser);
+        return activeGames.getLatest(appUser);
     }
 
     /**
@@ -61,29 +240,119 @@ public class GameService {
      * @param tileId {@link String} in the format "{row index}-{column index}", eg. "0-0" is the top left, "2-2" bottom right.
      */
     public void takeTurn(Game game, String tileId) {
-        if (game.getState() != GameState.IN_PROGRESS || game.getNextMove() == null) {
-            return;
+        takeTurn(game, parseTileId(game, tileId));
+    }
+
+    /**
+     * On the given {@link Game}, place the next move on the tile. Anything but an empty tile of the board is ignored.
+     * @param game {@link Game} which includes the state of play.
+     * @param tile the tile's index, {@code row index * column count + column index}, eg. 0 is the top left, 8 the
+     *         bottom right of a 3x3 board.
+     */
+    public void takeTurn(Game game, int tile) {
+        synchronized (game) {
+            activeGames.checkCapacity();
+            takeTurnTimer.record(() -> {
+                if (placeMove(game, tile)) {
+                    save(game, false, tile);
+                }
+            });
         }
+    }
+
+    /**
+     * A whole turn: the human's move on the tile, then the computer's reply if the game goes on, the game saved once
+     * with both. Nothing is placed or saved unless the human is next to move and the tile is empty. No transaction is
+     * held while the computer searches: {@link ActiveGameCache} makes its own for the write.
+     * @param tile the human's tile index, see {@link #takeTurn(Game, int)}.
+     * @param computerPlayer chooses the computer's move, without placing it, eg.
+     *         {@link ComputerPlayerService#chooseMove(Game)}.
+     * @return the computer's move, or empty if it made none.
+     */
+    public Optional<ComputerMove> takeTurns(
+            Game game, int tile, Function<Game, Optional<ComputerMove>> computerPlayer
+    ) {
+        synchronized (game) {
+            activeGames.checkCapacity();
+            long humanStart = System.nanoTime();
+            boolean placed = isHumanNext(game) && takeTurnTimer.record(() -> placeMove(game, tile));
+            ServerTiming.record(Stage.HUMAN, humanStart);
+            if (!placed) {
+                return Optional.empty();
+            }
 
-        String[] indices = tileId.split("-");
-        if (indices.length != 2) {
-            return;
+            Optional<ComputerMove> reply = game.getState() == GameState.IN_PROGRESS
+                    ? computerPlayer.apply(game)
+                    : Optional.empty();
+            if (reply.isPresent() && takeTurnTimer.record(() -> placeMove(game, reply.get().getTile()))) {
+                save(game, false, tile, reply.get().getTile());
+            } else {
+                save(game, false, tile);
+            }
+            return reply;
         }
+    }
 
-        int rowIndex;
-        int columnIndex;
-        try {
-            rowIndex = Integer.parseInt(indices[0]);
-            columnIndex = Integer.parseInt(indices[1]);
-        } catch (NumberFormatException ex) {
-            return;
+    private static boolean isHumanNext(Game game) {
+        if (game.getNextMove() == null) {
+            return false;
+        }
+        PlayerType nextPlayerType = game.getNextMove() == PlayerNumber.PLAYER_1
+                ? game.getPlayer1Type()
+                : game.getPlayer2Type();
+        return nextPlayerType == PlayerType.HUMAN;
+    }
+
+    /**
+     * Place the next move on the tile and evaluate the game, leaving it to the caller to save.
+     * @return true if the move was placed, false if the game is over or the tile is not an empty one of the board.
+     */
+    private boolean placeMove(Game game, int tile) {
+        MoveAppliedEvent event = new MoveAppliedEvent();
+        event.begin();
+
+        if (!applyMove(game, tile)) {
+            return false;
         }
 
-        if (!isValidBoardPosition(rowIndex, columnIndex) || !game.getRows().get(rowIndex).get(columnIndex).isEmpty()) {
-            return;
+        GameState state = game.getState();
+        if (state != GameState.IN_PROGRESS) {
+            finishedGames.get(state).increment();
         }
 
-        final BoardTile tile = getPlayersBoardTile(game.getNextMove());
+        if (event.shouldCommit()) {
+            event.gameId = gameIdOf(game);
+            event.tile = tile;
+            event.moveCount = game.getMoveCount();
+            event.state = state.name();
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * The rules of a move alone, without metrics or events, for {@link GameEventStore} to replay saved moves with.
+     * @return true if the move was placed, false if the game is over or the tile is not an empty one of the board.
+     */
+    static boolean applyMove(Game game, int tile) {
+        if (game.getState() != GameState.IN_PROGRESS || game.getNextMove() == null) {
+            return false;
+        }
+
+        List<List<String>> rows = game.getRows();
+        int columnCount = rows.get(0).size();
+        if (tile < 0 || tile >= rows.size() * columnCount) {
+            return false;
+        }
+
+        final int rowIndex = tile / columnCount;
+        final int columnIndex = tile % columnCount;
+        if (!rows.get(rowIndex).get(columnIndex).isEmpty()) {
+            return false;
+        }
+
+        final BoardTile boardTile = boardTileOf(game.getNextMove());
+        final int moveCount = getMoveCount(game);
 
         if (game.getNextMove() == PlayerNumber.PLAYER_1) {
             game.setNextMove(PlayerNumber.PLAYER_2);
@@ -91,20 +360,127 @@ public class GameService {
             game.setNextMove(PlayerNumber.PLAYER_1);
         }
 
-        game.getRows().get(rowIndex).set(columnIndex, tile.toString());
+        rows.get(rowIndex).set(columnIndex, boardTile.toString());
+        game.setMoveCount(moveCount + 1);
 
-        GameState state = evaluateGameState(game.getRows());
+        GameState state = evaluateGameState(game, rowIndex, columnIndex);
         game.setState(state);
         if (state != GameState.IN_PROGRESS) {
             game.setNextMove(null);
         }
+        return true;
+    }
 
-        gameRepository.save(game);
+    /**
+     * @return the tiles placed on the game so far, counted from its rows for a game saved without them.
+     */
+    static int getMoveCount(Game game) {
+        return game.getMoveCount() == null ? BoardUtil.countPlacedTiles(game.getRows()) : game.getMoveCount();
     }
 
-    private boolean isValidBoardPosition(int rowIndex, int columnIndex) {
-        return rowIndex >= 0 && rowIndex < BOARD_SIZE
-                && columnIndex >= 0 && columnIndex < BOARD_SIZE;
+    /**
+     * Timed as the request's persistence stage: the write itself when writing through, queueing it when writing behind.
+     * @param newGame true for a game not saved before.
+     * @param tiles the moves placed since the game was last saved, in order.
+     */
+    private void save(Game game, boolean newGame, int... tiles) {
+        GamePersistedEvent event = new GamePersistedEvent();
+        event.begin();
+
+        long start = System.nanoTime();
+        if (newGame) {
+            activeGames.create(game);
+        } else {
+            activeGames.save(game, tiles);
+        }
+        ServerTiming.record(Stage.PERSIST, start);
+
+        if (event.shouldCommit()) {
+            event.gameId = gameIdOf(game);
+            event.moveCount = game.getMoveCount() == null ? 0 : game.getMoveCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * @return the game's id for flight recorder events, 0 before it is first saved.
+     */
+    static long gameIdOf(Game game) {
+        return game.getId() == null ? 0 : game.getId();
+    }
+
+    /**
+     * Read a tile id once, where it comes in, so the game and computer player only deal in tile indexes.
+     * @param tileId in the format "{row index}-{column index}".
+     * @return the tile's index, {@code row index * column count + column index}, or {@link #NO_TILE} if the id is
+     *         malformed or off the board.
+     */
+    public int parseTileId(Game game, String tileId) {
+        int separator = tileId.indexOf('-');
+        if (separator <= 0 || separator != tileId.lastIndexOf('-')) {
+            return NO_TILE;
+        }
+
+        int rowIndex;
+        int columnIndex;
+        try {
+            rowIndex = Integer.parseInt(tileId, 0, separator, 10);
+            columnIndex = Integer.parseInt(tileId, separator + 1, tileId.length(), 10);
+        } catch (NumberFormatException ex) {
+            return NO_TILE;
+        }
+
+        List<List<String>> rows = game.getRows();
+        if (!isValidBoardPosition(rows, rowIndex, columnIndex)) {
+            return NO_TILE;
+        }
+        return rowIndex * rows.get(0).size() + columnIndex;
+    }
+
+    private boolean isValidBoardPosition(List<List<String>> rows, int rowIndex, int columnIndex) {
+        return rowIndex >= 0 && rowIndex < rows.size()
+                && columnIndex >= 0 && columnIndex < rows.get(rowIndex).size();
+    }
+
+    /**
+     * @return a copy of the game's rows, taken holding its lock, to render while its user's other requests play on.
+     */
+    public List<List<String>> copyRows(Game game) {
+        synchronized (game) {
+            return BoardUtil.copyRows(game.getRows());
+        }
+    }
+
+    /**
+     * @return the index of the tile in the middle of the game's board, 4 on 3x3.
+     */
+    public int getCenterTile(Game game) {
+        List<List<String>> rows = game.getRows();
+        return (rows.size() / 2) * rows.get(0).size() + rows.get(0).size() / 2;
+    }
+
+    /**
+     * @return the "{row index}-{column index}" id of the tile in the middle of the game's board, "1-1" on 3x3.
+     */
+    public String getCenterTileId(Game game) {
+        List<List<String>> rows = game.getRows();
+        return (rows.size() / 2) + "-" + (rows.get(0).size() / 2);
+    }
+
+    /**
+     * @return how many tiles in a row win the game.
+     */
+    static int getWinLength(Game game) {
+        return game.getWinLength() == null ? CLASSIC_SIZE : game.getWinLength();
+    }
+
+    /**
+     * @return true if the game is played on a 3x3 board to 3 in a row, the only size the {@link Board} bitboard and
+     *         the computer player's rules handle.
+     */
+    static boolean isClassicBoard(Game game) {
+        List<List<String>> rows = game.getRows();
+        return rows.size() == CLASSIC_SIZE && rows.get(0).size() == CLASSIC_SIZE && getWinLength(game) == CLASSIC_SIZE;
     }
 
     /**
@@ -113,6 +489,10 @@ public class GameService {
      * @return {@link BoardTile} for the player.
      */
     public BoardTile getPlayersBoardTile(PlayerNumber playerNumber) {
+        return boardTileOf(playerNumber);
+    }
+
+    private static BoardTile boardTileOf(PlayerNumber playerNumber) {
         switch (playerNumber) {
             case PLAYER_1: return BoardTile.X;
             case PLAYER_2: return BoardTile.O;
@@ -121,43 +501,18 @@ public class GameService {
     }
 
     /**
-     * Check the game, has anyone won?
-     * @param rows the rows that make up a game.
+     * Check the game after a tile was placed, has anyone won? Only a win through the placed tile is possible, so only
+     * the lines through it are read, and the game's move count tells whether the board is full.
      * @return {@link GameState}, PLAYER_1_WIN, PLAYER_2_WIN, IN_PROGRESS, DRAW
      */
-    private GameState evaluateGameState(List<List<String>> rows) {
-        for (List<String> line : getAllPossibleLines(rows)) {
-            GameState winState = evaluateWinningLine(line);
-            if (winState != null) {
-                return winState;
-            }
-        }
-
-        return hasEmptyTiles(rows) ? GameState.IN_PROGRESS : GameState.DRAW;
-    }
-
-    private GameState evaluateWinningLine(List<String> line) {
-        String firstTile = line.get(0);
-        if (firstTile.isEmpty()) {
-            return null;
-        }
-
-        if (!isAWinner(line, firstTile)) {
-            return null;
-        }
-
-        return firstTile.equals(BoardTile.X.toString())
-                ? GameState.PLAYER_1_WIN
-                : GameState.PLAYER_2_WIN;
-    }
-
-    private boolean hasEmptyTiles(List<List<String>> rows) {
-        for (List<String> row : rows) {
-            if (row.stream().anyMatch(String::isEmpty)) {
-                return true;
-            }
+    private static GameState evaluateGameState(Game game, int rowIndex, int columnIndex) {
+        List<List<String>> rows = game.getRows();
+        if (BoardUtil.isWinningMove(rows, rowIndex, columnIndex, getWinLength(game))) {
+            return BoardTile.X.toString().equals(rows.get(rowIndex).get(columnIndex))
+                    ? GameState.PLAYER_1_WIN
+                    : GameState.PLAYER_2_WIN;
         }
-        return false;
+        return game.getMoveCount() == rows.size() * rows.get(0).size() ? GameState.DRAW : GameState.IN_PROGRESS;
     }
 
     public static boolean isAWinner(List<String> line, String firstTile) {
@@ -0,0 +1,198 @@
+package tictactoe.game;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A rows x columns board played to k in a row, used by the search based computer player on boards other than the
+ * classic 3x3 (which uses the {@link Board} bitboard).
+ *
+ * Besides the tiles, it keeps for every winning window of {@link BoardGeometry} how many X and O tiles it holds, and
+ * for every tile how many occupied neighbours it has. {@link #place(int, BoardTile)} and {@link #clear(int)} update
+ * both in place, so a search can make and unmake moves and ask whether a move won by looking only at the windows
+ * through that tile.
+ *
+ * It also keeps an incremental Zobrist hash of the position under each of the board's symmetries. The smallest of
+ * them is the canonical hash, shared by every rotation or reflection of the position.
+ */
+final class GridBoard {
+
+    private final BoardGeometry geometry;
+    private final BoardTile[] tiles;
+    private final int[] xCounts;
+    private final int[] oCounts;
+    private final int[] occupiedNeighbours;
+    private final long[] hashes;
+    private int moveCount;
+
+    GridBoard(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.tiles = new BoardTile[geometry.tileCount];
+        this.xCounts = new int[geometry.windowCount];
+        this.oCounts = new int[geometry.windowCount];
+        this.occupiedNeighbours = new int[geometry.tileCount];
+        this.hashes = new long[geometry.symmetries.length];
+
+        Arrays.fill(tiles, BoardTile.EMPTY);
+        Arrays.fill(hashes, geometry.sizeKey);
+    }
+
+    private GridBoard(GridBoard board) {
+        this.geometry = board.geometry;
+        this.tiles = board.tiles.clone();
+        this.xCounts = board.xCounts.clone();
+        this.oCounts = board.oCounts.clone();
+        this.occupiedNeighbours = board.occupiedNeighbours.clone();
+        this.hashes = board.hashes.clone();
+        this.moveCount = board.moveCount;
+    }
+
+    /**
+     * @param rows the rows of a game, of any equal length.
+     * @param winLength how many tiles in a row win.
+     * @return a {@link GridBoard} with the same tiles placed.
+     */
+    static GridBoard fromRows(List<List<String>> rows, int winLength) {
+        GridBoard board = new GridBoard(BoardGeometry.of(rows.size(), rows.get(0).size(), winLength));
+
+        final String x = BoardTile.X.toString();
+        final String o = BoardTile.O.toString();
+        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+            List<String> row = rows.get(rowIndex);
+            for (int columnIndex = 0; columnIndex < row.size(); columnIndex++) {
+                String tile = row.get(columnIndex);
+                if (x.equals(tile)) {
+                    board.place(board.geometry.indexOf(rowIndex, columnIndex), BoardTile.X);
+                } else if (o.equals(tile)) {
+                    board.place(board.geometry.indexOf(rowIndex, columnIndex), BoardTile.O);
+                }
+            }
+        }
+
+        return board;
+    }
+
+    /**
+     * @return an independent copy, for a search on another thread.
+     */
+    GridBoard copy() {
+        return new GridBoard(this);
+    }
+
+    BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    BoardTile getTile(int tile) {
+        return tiles[tile];
+    }
+
+    boolean isEmpty(int tile) {
+        return tiles[tile] == BoardTile.EMPTY;
+    }
+
+    boolean hasOccupiedNeighbour(int tile) {
+        return occupiedNeighbours[tile] > 0;
+    }
+
+    int getMoveCount() {
+        return moveCount;
+    }
+
+    boolean isFull() {
+        return moveCount == geometry.tileCount;
+    }
+
+    /**
+     * @return how many of the given player's tiles are in the window.
+     */
+    int getCount(int window, BoardTile boardTile) {
+        return boardTile == BoardTile.X ? xCounts[window] : oCounts[window];
+    }
+
+    void place(int tile, BoardTile boardTile) {
+        if (boardTile == BoardTile.EMPTY) {
+            throw new IllegalArgumentException("Cannot place an empty tile at " + tile);
+        }
+
+        tiles[tile] = boardTile;
+        int[] counts = boardTile == BoardTile.X ? xCounts : oCounts;
+        for (int window : geometry.tileWindows[tile]) {
+            counts[window]++;
+        }
+        for (int neighbour : geometry.neighbours[tile]) {
+            occupiedNeighbours[neighbour]++;
+        }
+        toggleHashes(tile, boardTile);
+        moveCount++;
+    }
+
+    /**
+     * Undo {@link #place(int, BoardTile)} on the tile.
+     */
+    void clear(int tile) {
+        int[] counts = tiles[tile] == BoardTile.X ? xCounts : oCounts;
+        for (int window : geometry.tileWindows[tile]) {
+            counts[window]--;
+        }
+        for (int neighbour : geometry.neighbours[tile]) {
+            occupiedNeighbours[neighbour]--;
+        }
+        toggleHashes(tile, tiles[tile]);
+        tiles[tile] = BoardTile.EMPTY;
+        moveCount--;
+    }
+
+    /**
+     * @return true if the tile's owner has a complete window through it. Only the windows through the tile are read.
+     */
+    boolean isWinningMove(int tile) {
+        BoardTile boardTile = tiles[tile];
+        if (boardTile == BoardTile.EMPTY) {
+            return false;
+        }
+
+        int[] counts = boardTile == BoardTile.X ? xCounts : oCounts;
+        for (int window : geometry.tileWindows[tile]) {
+            if (counts[window] == geometry.winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the Zobrist hash of the position after the given symmetry is applied.
+     */
+    long getHash(int symmetry) {
+        return hashes[symmetry];
+    }
+
+    /**
+     * @return the Zobrist hash of the position, the same for all its rotations and reflections.
+     */
+    long getCanonicalHash() {
+        return hashes[getCanonicalSymmetry()];
+    }
+
+    /**
+     * @return the symmetry that maps this position onto its canonical form, an index into
+     *         {@link BoardGeometry#symmetries}.
+     */
+    int getCanonicalSymmetry() {
+        int canonical = 0;
+        for (int symmetry = 1; symmetry < hashes.length; symmetry++) {
+            if (hashes[symmetry] < hashes[canonical]) {
+                canonical = symmetry;
+            }
+        }
+        return canonical;
+    }
+
+    private void toggleHashes(int tile, BoardTile boardTile) {
+        long[] keys = boardTile == BoardTile.X ? geometry.xKeys : geometry.oKeys;
+        for (int symmetry = 0; symmetry < hashes.length; symmetry++) {
+            hashes[symmetry] ^= keys[geometry.symmetries[symmetry][tile]];
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package tictactoe.game;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo tree search with UCT selection on a {@link GridBoard}, the computer player's engine for games that ask
+ * for it. Where alpha-beta has to look at every reply to go one move deeper, this grows the tree towards the moves
+ * that win the most random playouts, so more playouts, more time or more threads buy a stronger move.
+ *
+ * The tree lives in an arena of parallel primitive arrays, node 0 being the root and each node's children taking a
+ * contiguous block of it. An instance is reused from move to move; {@link #search} starts over by resetting the arena
+ * size, so a search allocates no nodes and a playout allocates nothing at all.
+ *
+ * Several threads can grow one tree. Each counts its visit on the way down before the playout's result is known, a
+ * virtual loss that steers the other threads to other branches until the result comes back. Only the thread that
+ * claims a leaf expands it. When the arena is full, leaves stop being expanded and playouts carry on from them.
+ *
+ * Rewards are counted in half points for the player who moved into a node: 2 for a win, 1 for a draw.
+ */
+final class MonteCarloTreeSearch {
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private static final int ROOT = 0;
+
+    private static final int LEAF = 0;
+    private static final int EXPANDING = 1;
+    private static final int EXPANDED = 2;
+    private static final int WON = 3;
+    private static final int DRAWN = 4;
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int SMALL_BOARD_TILES = 25;
+
+    /**
+     * A leaf is expanded on its second visit, so one-off leaves don't take up the arena.
+     */
+    private static final int EXPANSION_VISITS = 2;
+
+    private final int capacity;
+    private final int[] moves;
+    private final int[] firstChildren;
+    private final int[] childCounts;
+    private final int[] visits;
+    private final int[] rewards;
+    private final int[] states;
+
+    private final AtomicLong nodeCount = new AtomicLong();
+    private final AtomicLong playoutsLeft = new AtomicLong();
+    private final AtomicLong playoutsDone = new AtomicLong();
+
+    private volatile boolean stopped;
+    private boolean hasDeadline;
+    private long deadline;
+    private int maxDepth;
+
+    /**
+     * @param capacity the most nodes the tree may hold.
+     */
+    MonteCarloTreeSearch(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.moves = new int[this.capacity];
+        this.firstChildren = new int[this.capacity];
+        this.childCounts = new int[this.capacity];
+        this.visits = new int[this.capacity];
+        this.rewards = new int[this.capacity];
+        this.states = new int[this.capacity];
+    }
+
+    /**
+     * Run playouts until they or the deadline run out, on the calling thread plus up to threads - 1 helpers from the
+     * executor, and return the root move visited most.
+     *
+     * @param board the position, left unchanged.
+     * @param player the tile of the player to move.
+     * @param executor runs the helpers, or null to search on the calling thread alone.
+     * @return the chosen tile, or {@link Board#NO_TILE} if the board is full.
+     */
+    int search(GridBoard board, BoardTile player, long playouts, ExecutorService executor, int threads) {
+        nodeCount.set(1);
+        playoutsLeft.set(playouts);
+        playoutsDone.set(0);
+        stopped = false;
+        maxDepth = 0;
+        initNode(ROOT, Board.NO_TILE);
+
+        if (board.isFull()) {
+            return Board.NO_TILE;
+        }
+
+        Helpers helpers = new Helpers();
+        if (executor != null) {
+            try {
+                for (int helper = 1; helper < threads; helper++) {
+                    Worker worker = new Worker(board.copy(), player, helper);
+                    executor.execute(() -> helpers.run(worker));
+                }
+            } catch (RejectedExecutionException e) {
+                // the pool is saturated, search with the helpers already running
+            }
+        }
+
+        Worker worker = new Worker(board, player, 0);
+        try {
+            worker.run();
+        } finally {
+            stopped = true;
+            helpers.closeAndAwait();
+        }
+        maxDepth = Math.max(maxDepth, worker.maxDepth);
+
+        return getMostVisitedMove();
+    }
+
+    /**
+     * Stop running playouts once {@link System#nanoTime()} passes the deadline. Applies to the next search.
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadline = deadlineNanos;
+    }
+
+    void clearDeadline() {
+        this.hasDeadline = false;
+    }
+
+    /**
+     * @return how many playouts the last search ran, across threads.
+     */
+    long getPlayouts() {
+        return playoutsDone.get();
+    }
+
+    /**
+     * @return the deepest node the calling thread reached in the last search, in moves from the root.
+     */
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return the nodes the last search's tree took.
+     */
+    long getNodeCount() {
+        return Math.min(nodeCount.get(), capacity);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    private int getMostVisitedMove() {
+        if ((int) INTS.getAcquire(states, ROOT) != EXPANDED) {
+            return Board.NO_TILE;
+        }
+
+        int best = Board.NO_TILE;
+        int bestVisits = -1;
+        int first = firstChildren[ROOT];
+        for (int child = first; child < first + childCounts[ROOT]; child++) {
+            if ((int) INTS.getAcquire(states, child) == WON) {
+                return moves[child];
+            }
+            if (visits[child] > bestVisits) {
+                bestVisits = visits[child];
+                best = moves[child];
+            }
+        }
+        return best;
+    }
+
+    private void initNode(int node, int move) {
+        moves[node] = move;
+        childCounts[node] = 0;
+        visits[node] = 0;
+        rewards[node] = 0;
+        states[node] = LEAF;
+    }
+
+    /**
+     * The state of one thread's search: its copy of the board and its buffers, all allocated before the first playout.
+     */
+    private final class Worker {
+
+        private final GridBoard board;
+        private final BoardTile rootPlayer;
+        private final SplittableRandom random;
+
+        private final int[] path;
+        private final int[] candidates;
+        private final int[] empties;
+        private final int[] placed;
+        private int maxDepth;
+
+        Worker(GridBoard board, BoardTile rootPlayer, int index) {
+            this.board = board;
+            this.rootPlayer = rootPlayer;
+            this.random = new SplittableRandom(board.getCanonicalHash() + index);
+
+            int tileCount = board.getGeometry().tileCount;
+            this.path = new int[tileCount + 1];
+            this.candidates = new int[tileCount];
+            this.empties = new int[tileCount];
+            this.placed = new int[tileCount];
+        }
+
+        void run() {
+            while (!stopped && playoutsLeft.getAndDecrement() > 0) {
+                playout();
+                playoutsDone.incrementAndGet();
+
+                if (hasDeadline && System.nanoTime() - deadline >= 0) {
+                    stopped = true;
+                }
+            }
+        }
+
+        /**
+         * Walk down the tree to a leaf, expanding it on its second visit, play random moves to the end of the game
+         * and credit the result to every node on the way.
+         */
+        private void playout() {
+            int placedCount = 0;
+            int node = ROOT;
+            int depth = 0;
+            BoardTile player = rootPlayer;
+            path[depth] = ROOT;
+            INTS.getAndAdd(visits, ROOT, 1);
+
+            BoardTile winner = BoardTile.EMPTY;
+            boolean over = false;
+            while (true) {
+                int state = (int) INTS.getAcquire(states, node);
+                if (state == WON) {
+                    winner = getOpponent(player);
+                    over = true;
+                    break;
+                }
+                if (state == DRAWN) {
+                    over = true;
+                    break;
+                }
+                if (state != EXPANDED && node != ROOT && visits[node] < EXPANSION_VISITS) {
+                    break;
+                }
+                if (!expand(node)) {
+                    break;
+                }
+
+                node = selectChild(node);
+                INTS.getAndAdd(visits, node, 1);
+                path[++depth] = node;
+
+                int tile = moves[node];
+                board.place(tile, player);
+                placed[placedCount++] = tile;
+                if (board.isWinningMove(tile)) {
+                    INTS.setRelease(states, node, WON);
+                } else if (board.isFull()) {
+                    INTS.setRelease(states, node, DRAWN);
+                }
+                player = getOpponent(player);
+            }
+            maxDepth = Math.max(maxDepth, depth);
+
+            if (!over) {
+                winner = playRandomly(player);
+            }
+
+            // the player who moved into path[d] is the root player for odd d
+            for (int d = 0; d <= depth; d++) {
+                BoardTile mover = d % 2 == 1 ? rootPlayer : getOpponent(rootPlayer);
+                int reward = winner == BoardTile.EMPTY ? 1 : winner == mover ? 2 : 0;
+                if (reward > 0) {
+                    INTS.getAndAdd(rewards, path[d], reward);
+                }
+            }
+
+            while (placedCount > 0) {
+                board.clear(placed[--placedCount]);
+            }
+        }
+
+        /**
+         * Play random moves from the current position to the end of the game, then take them back.
+         * @return the winner, or {@link BoardTile#EMPTY} for a draw.
+         */
+        private BoardTile playRandomly(BoardTile player) {
+            int emptyCount = 0;
+            for (int tile = 0; tile < board.getGeometry().tileCount; tile++) {
+                if (board.isEmpty(tile)) {
+                    empties[emptyCount++] = tile;
+                }
+            }
+
+            int movesPlayed = 0;
+            BoardTile winner = BoardTile.EMPTY;
+            while (emptyCount > 0) {
+                int pick = random.nextInt(emptyCount);
+                int tile = empties[pick];
+                empties[pick] = empties[--emptyCount];
+                empties[emptyCount] = tile;
+
+                board.place(tile, player);
+                movesPlayed++;
+                if (board.isWinningMove(tile)) {
+                    winner = player;
+                    break;
+                }
+                player = getOpponent(player);
+            }
+
+            // empties[emptyCount..] holds the moves played, last one first
+            for (int i = 0; i < movesPlayed; i++) {
+                board.clear(empties[emptyCount + i]);
+            }
+            return winner;
+        }
+
+        /**
+         * @return true if the node has children to select from, false if it should be played out as a leaf.
+         */
+        private boolean expand(int node) {
+            int state = (int) INTS.getAcquire(states, node);
+            if (state == EXPANDED) {
+                return true;
+            }
+            if (state != LEAF || !INTS.compareAndSet(states, node, LEAF, EXPANDING)) {
+                return false;
+            }
+
+            int count = generateCandidates();
+            long first = nodeCount.getAndAdd(count);
+            if (count == 0 || first + count > capacity) {
+                // no room left: left as EXPANDING, it is played out as a leaf from now on
+                return false;
+            }
+
+            for (int i = 0; i < count; i++) {
+                initNode((int) first + i, candidates[i]);
+            }
+            firstChildren[node] = (int) first;
+            childCounts[node] = count;
+            INTS.setRelease(states, node, EXPANDED);
+            return true;
+        }
+
+        /**
+         * Fill candidates with the empty tiles worth a move: all of them on a small board, only those next to a placed
+         * tile on a larger one, or the center of an empty one.
+         * @return the number of candidates.
+         */
+        private int generateCandidates() {
+            BoardGeometry geometry = board.getGeometry();
+            if (board.getMoveCount() == 0 && geometry.tileCount > SMALL_BOARD_TILES) {
+                candidates[0] = geometry.centerTile();
+                return 1;
+            }
+
+            int count = 0;
+            for (int tile = 0; tile < geometry.tileCount; tile++) {
+                if (board.isEmpty(tile) && (geometry.tileCount <= SMALL_BOARD_TILES || board.hasOccupiedNeighbour(tile))) {
+                    candidates[count++] = tile;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @return the child with the highest upper confidence bound, an unvisited one first.
+         */
+        private int selectChild(int node) {
+            int first = firstChildren[node];
+            int last = first + childCounts[node];
+            double logVisits = Math.log(Math.max(1, visits[node]));
+
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < last; child++) {
+                int childVisits = visits[child];
+                if (childVisits == 0) {
+                    return child;
+                }
+                double value = rewards[child] / (2.0 * childVisits) + EXPLORATION * Math.sqrt(logVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Tracks the helpers of one search, so it can wait for those still running and keep late ones off the tree before
+     * the arena is reused.
+     */
+    private static final class Helpers {
+
+        private int running;
+        private boolean closed;
+
+        void run(Worker worker) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                running++;
+            }
+            try {
+                worker.run();
+            } finally {
+                synchronized (this) {
+                    running--;
+                    notifyAll();
+                }
+            }
+        }
+
+        synchronized void closeAndAwait() {
+            closed = true;
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static BoardTile getOpponent(BoardTile player) {
+        return player == BoardTile.X ? BoardTile.O : BoardTile.X;
+    }
+}
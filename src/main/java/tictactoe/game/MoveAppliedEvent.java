@@ -0,0 +1,32 @@
+package tictactoe.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for each move {@link GameService} places: the move placed and the game evaluated, its save
+ * being a {@link GamePersistedEvent} of its own. Not committed for a move turned away.
+ */
+@Name("tictactoe.MoveApplied")
+@Label("Move Applied")
+@Category({"Tic Tac Toe", "Game"})
+@Description("A move placed on the board and the game evaluated")
+@StackTrace(false)
+final class MoveAppliedEvent extends Event {
+
+    @Label("Game Id")
+    long gameId;
+
+    @Label("Tile")
+    int tile;
+
+    @Label("Move Count")
+    int moveCount;
+
+    @Label("Game State")
+    String state;
+}
@@ -0,0 +1,58 @@
+package tictactoe.game;
+
+/**
+ * How long the computer player may think about one move: a time limit, a limit on the positions searched, or both.
+ * Only the search played on boards other than 3x3 is limited; 3x3 replies are looked up.
+ */
+public final class MoveBudget {
+
+    /**
+     * No time limit.
+     */
+    public static final long UNLIMITED_TIME = 0;
+
+    private final long timeMillis;
+    private final long nodes;
+
+    private MoveBudget(long timeMillis, long nodes) {
+        if (timeMillis < 0 || nodes <= 0) {
+            throw new IllegalArgumentException("Invalid move budget: " + timeMillis + " ms, " + nodes + " nodes");
+        }
+        this.timeMillis = timeMillis;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @param timeMillis the time limit, or {@link #UNLIMITED_TIME}.
+     * @param nodes the most positions to search.
+     */
+    public static MoveBudget of(long timeMillis, long nodes) {
+        return new MoveBudget(timeMillis, nodes);
+    }
+
+    public static MoveBudget ofMillis(long timeMillis) {
+        return new MoveBudget(timeMillis, Long.MAX_VALUE);
+    }
+
+    public static MoveBudget ofNodes(long nodes) {
+        return new MoveBudget(UNLIMITED_TIME, nodes);
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public boolean hasTimeLimit() {
+        return timeMillis != UNLIMITED_TIME;
+    }
+
+    @Override
+    public String toString() {
+        return (hasTimeLimit() ? timeMillis + " ms" : "no time limit")
+                + ", " + (nodes == Long.MAX_VALUE ? "no node limit" : nodes + " nodes");
+    }
+}
@@ -0,0 +1,92 @@
+package tictactoe.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Lazy SMP: an {@link AlphaBetaSearch} on the calling thread, with helper searches on copies of the board running on
+ * an executor, all sharing one {@link TranspositionTable}. The helpers never report a move; they fill the table with
+ * positions the main search would otherwise have to visit itself, so it finishes sooner.
+ *
+ * Helpers alternate between the main search's depth and one ply deeper, and start their root moves at different
+ * places, so they don't all walk the same tree in step. They are stopped as soon as the main search returns.
+ *
+ * Only the main search watches the deadline; helpers wind down when it returns.
+ *
+ * When the executor is busy and turns helpers away, the search carries on with those it got, down to none.
+ */
+final class ParallelSearch {
+
+    private final ExecutorService executor;
+    private final int threads;
+
+    private boolean hasDeadline;
+    private long deadline;
+    private int completedDepth;
+    private long nodes;
+
+    /**
+     * @param threads how many searches to run for a move, the calling thread included.
+     */
+    ParallelSearch(ExecutorService executor, int threads) {
+        this.executor = executor;
+        this.threads = threads;
+    }
+
+    /**
+     * @param board the position, left unchanged.
+     * @param player the tile of the player to move.
+     * @return the best tile found, or {@link Board#NO_TILE} if the board is full.
+     */
+    int findBestMove(GridBoard board, BoardTile player, int maxDepth, long nodeBudget, TranspositionTable table) {
+        table.newSearch();
+
+        List<AlphaBetaSearch> helpers = new ArrayList<>(threads - 1);
+        try {
+            for (int helper = 1; helper < threads; helper++) {
+                AlphaBetaSearch search = new AlphaBetaSearch(board.copy(), maxDepth + helper % 2, nodeBudget, table);
+                search.setRootRotation(helper / 2);
+                executor.execute(() -> search.search(player));
+                helpers.add(search);
+            }
+        } catch (RejectedExecutionException e) {
+            // the pool is saturated, search with the helpers already running
+        }
+
+        AlphaBetaSearch search = new AlphaBetaSearch(board, maxDepth, nodeBudget, table);
+        if (hasDeadline) {
+            search.setDeadline(deadline);
+        }
+        try {
+            return search.search(player);
+        } finally {
+            helpers.forEach(AlphaBetaSearch::stop);
+            completedDepth = search.getCompletedDepth();
+            nodes = search.getNodes();
+        }
+    }
+
+    /**
+     * @see AlphaBetaSearch#setDeadline(long)
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadline = deadlineNanos;
+    }
+
+    /**
+     * @return the deepest search the main search completed in the last {@link #findBestMove}.
+     */
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * @return the positions the main search visited in the last {@link #findBestMove}, not counting helpers.
+     */
+    long getNodes() {
+        return nodes;
+    }
+}
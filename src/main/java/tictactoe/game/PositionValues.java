@@ -0,0 +1,68 @@
+package tictactoe.game;
+
+import java.util.Arrays;
+
+/**
+ * The result of every 3x3 position when both players play perfectly, for X and for O to move, worked out once by a
+ * full search when the class is loaded and stored as one byte per position, indexed by
+ * {@link Board#getPositionKey()}. The two tables take under 40KB.
+ */
+final class PositionValues {
+
+    static final int LOSS = -1;
+    static final int DRAW = 0;
+    static final int WIN = 1;
+
+    private static final byte UNSOLVED = 2;
+
+    private static final byte[] X_VALUES = new byte[Board.POSITION_COUNT];
+    private static final byte[] O_VALUES = new byte[Board.POSITION_COUNT];
+
+    static {
+        Arrays.fill(X_VALUES, UNSOLVED);
+        Arrays.fill(O_VALUES, UNSOLVED);
+        for (int positionKey = 0; positionKey < Board.POSITION_COUNT; positionKey++) {
+            Board board = Board.fromPositionKey(positionKey);
+            valueOf(board, BoardTile.X);
+            valueOf(board, BoardTile.O);
+        }
+    }
+
+    private PositionValues() {}
+
+    /**
+     * @return {@link #WIN}, {@link #DRAW} or {@link #LOSS} for the player to move, from the moves still to come.
+     */
+    static int valueOf(Board board, BoardTile mover) {
+        byte[] values = mover == BoardTile.X ? X_VALUES : O_VALUES;
+        int positionKey = board.getPositionKey();
+        if (values[positionKey] == UNSOLVED) {
+            int best = board.isFull() ? DRAW : LOSS;
+            for (int tile = 0; tile < Board.TILE_COUNT && best < WIN; tile++) {
+                if (board.isEmpty(tile)) {
+                    best = Math.max(best, valueOfMove(board, mover, tile));
+                }
+            }
+            values[positionKey] = (byte) best;
+        }
+        return values[positionKey];
+    }
+
+    /**
+     * The move is made on the board and undone again.
+     * @return the mover's result if they take the empty tile.
+     */
+    static int valueOfMove(Board board, BoardTile mover, int tile) {
+        board.place(tile, mover);
+        int value;
+        if (board.isWinningMove(tile)) {
+            value = WIN;
+        } else if (board.isFull()) {
+            value = DRAW;
+        } else {
+            value = -valueOf(board, mover == BoardTile.X ? BoardTile.O : BoardTile.X);
+        }
+        board.clear(tile);
+        return value;
+    }
+}
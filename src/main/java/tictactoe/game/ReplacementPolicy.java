@@ -0,0 +1,17 @@
+package tictactoe.game;
+
+/**
+ * How the computer player's transposition table decides whether a new entry may overwrite the one in its slot.
+ */
+public enum ReplacementPolicy {
+
+    /**
+     * The newest entry always wins.
+     */
+    ALWAYS,
+
+    /**
+     * Keep the entry searched deeper, unless it is left over from an earlier move.
+     */
+    DEPTH_PREFERRED
+}
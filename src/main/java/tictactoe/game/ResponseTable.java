@@ -0,0 +1,65 @@
+package tictactoe.game;
+
+/**
+ * The computer's reply for every 3x3 position, worked out once by the priority rules in
+ * {@link ComputerPlayerService} and stored as one byte per position, indexed by {@link Board#getPositionKey()},
+ * along with a byte for the {@link DecisionRule} that chose it.
+ *
+ * All 3^9 tile arrangements are covered for both X and O to move, not only the few thousand reachable in play, so
+ * a lookup answers exactly as the rules would for any board it is given. The four tables take under 80KB.
+ */
+final class ResponseTable {
+
+    private final byte[] xResponses;
+    private final byte[] oResponses;
+    private final byte[] xRules;
+    private final byte[] oRules;
+
+    private ResponseTable(byte[] xResponses, byte[] oResponses, byte[] xRules, byte[] oRules) {
+        this.xResponses = xResponses;
+        this.oResponses = oResponses;
+        this.xRules = xRules;
+        this.oRules = oRules;
+    }
+
+    static ResponseTable create() {
+        byte[] xResponses = new byte[Board.POSITION_COUNT];
+        byte[] oResponses = new byte[Board.POSITION_COUNT];
+        byte[] xRules = new byte[Board.POSITION_COUNT];
+        byte[] oRules = new byte[Board.POSITION_COUNT];
+
+        for (int positionKey = 0; positionKey < Board.POSITION_COUNT; positionKey++) {
+            Board board = Board.fromPositionKey(positionKey);
+
+            int xDecision = ComputerPlayerService.chooseRuleDecision(board, BoardTile.X);
+            xResponses[positionKey] = (byte) ComputerPlayerService.decisionTile(xDecision);
+            xRules[positionKey] = (byte) ComputerPlayerService.decisionRule(xDecision).ordinal();
+
+            int oDecision = ComputerPlayerService.chooseRuleDecision(board, BoardTile.O);
+            oResponses[positionKey] = (byte) ComputerPlayerService.decisionTile(oDecision);
+            oRules[positionKey] = (byte) ComputerPlayerService.decisionRule(oDecision).ordinal();
+        }
+
+        return new ResponseTable(xResponses, oResponses, xRules, oRules);
+    }
+
+    /**
+     * @param board the position to reply to.
+     * @param boardTile the tile of the player to move.
+     * @return the tile index chosen by the priority rules, or {@link Board#NO_TILE} when no rule applies and the
+     *         move is left to the fallback.
+     */
+    int getResponse(Board board, BoardTile boardTile) {
+        byte[] responses = boardTile == BoardTile.X ? xResponses : oResponses;
+        return responses[board.getPositionKey()];
+    }
+
+    /**
+     * @return the rule behind {@link #getResponse(Board, BoardTile)}, {@link DecisionRule#RANDOM} when it is
+     *         {@link Board#NO_TILE}.
+     */
+    DecisionRule getRule(Board board, BoardTile boardTile) {
+        byte[] rules = boardTile == BoardTile.X ? xRules : oRules;
+        return DecisionRule.of(rules[board.getPositionKey()]);
+    }
+}
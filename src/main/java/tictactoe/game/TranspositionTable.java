@@ -0,0 +1,145 @@
+package tictactoe.game;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size table of searched positions, keyed by canonical Zobrist hash, so a search does not evaluate the same
+ * position, or a rotation or reflection of it, more than once.
+ *
+ * Each entry packs the score, search depth, bound type, best move and the generation of the search that stored it
+ * into one long, and takes 16 bytes with its key. The number of entries is the largest power of two that fits the
+ * memory cap. Keys are stored XORed with their entry, so a slot half written by another thread reads as a miss rather
+ * than a wrong entry, and the table can be shared by concurrent searches without locking.
+ */
+final class TranspositionTable {
+
+    static final long NO_ENTRY = 0;
+
+    static final int EXACT = 1;
+    static final int LOWER_BOUND = 2;
+    static final int UPPER_BOUND = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int indexMask;
+    private final ReplacementPolicy replacementPolicy;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    private volatile int generation;
+
+    /**
+     * @param memoryMegabytes the most memory the table may take, at least 1.
+     */
+    TranspositionTable(int memoryMegabytes, ReplacementPolicy replacementPolicy) {
+        long maxEntries = Math.max(1, (long) memoryMegabytes) * 1024 * 1024 / BYTES_PER_ENTRY;
+        int size = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30));
+
+        this.keys = new long[size];
+        this.entries = new long[size];
+        this.indexMask = size - 1;
+        this.replacementPolicy = replacementPolicy;
+    }
+
+    /**
+     * Mark the start of a new search, so entries left from earlier searches can be replaced first.
+     */
+    void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    /**
+     * @return the packed entry stored for the key, or {@link #NO_ENTRY}. Read it with the static accessors.
+     */
+    long probe(long key) {
+        int index = (int) key & indexMask;
+        long entry = entries[index];
+        if (entry != NO_ENTRY && (keys[index] ^ entry) == key) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        if (entry != NO_ENTRY) {
+            collisions.increment();
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * @param move the best move found, or {@link Board#NO_TILE}.
+     */
+    void store(long key, int score, int depth, int bound, int move) {
+        int index = (int) key & indexMask;
+        long current = entries[index];
+
+        if (replacementPolicy == ReplacementPolicy.DEPTH_PREFERRED
+                && current != NO_ENTRY
+                && (keys[index] ^ current) != key
+                && generationOf(current) == generation
+                && depthOf(current) > depth) {
+            return;
+        }
+
+        long entry = (score & 0xFFFFFFFFL)
+                | ((long) Math.min(depth, 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) (move + 1) << 42)
+                | ((long) generation << 58);
+        entries[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    void clear() {
+        for (int index = 0; index < entries.length; index++) {
+            entries[index] = NO_ENTRY;
+            keys[index] = 0;
+        }
+    }
+
+    int getCapacity() {
+        return entries.length;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return misses where the slot held a different position.
+     */
+    long getCollisions() {
+        return collisions.sum();
+    }
+
+    static int scoreOf(long entry) {
+        return (int) entry;
+    }
+
+    static int depthOf(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    static int boundOf(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    /**
+     * @return the best move, or {@link Board#NO_TILE}.
+     */
+    static int moveOf(long entry) {
+        return (int) ((entry >>> 42) & 0xFFFF) - 1;
+    }
+
+    private static int generationOf(long entry) {
+        return (int) (entry >>> 58) & 0x3F;
+    }
+}
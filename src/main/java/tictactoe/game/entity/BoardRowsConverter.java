@@ -0,0 +1,112 @@
+package tictactoe.game.entity;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves {@link Game#getRows()} as a few bytes, each tile a base-3 digit: 0 empty, 1 "x", 2 "o".
+ *
+ * A 3x3 board is two bytes, big-endian, holding the digits as one number with the top left tile the least
+ * significant, the same as the computer player's position key. Any other board is its row and column counts, a byte
+ * each, followed by its tiles row by row, five to a byte, the first the least significant. A 15x15 board takes 47
+ * bytes.
+ */
+@Converter
+public class BoardRowsConverter implements AttributeConverter<List<List<String>>, byte[]> {
+
+    /**
+     * Bytes the largest supported board, 19x19, takes.
+     */
+    public static final int MAX_LENGTH = 2 + (19 * 19 + 4) / 5;
+
+    private static final int CLASSIC_SIZE = 3;
+    private static final int CLASSIC_LENGTH = 2;
+    private static final int TILES_PER_BYTE = 5;
+    private static final String[] TILES = {"", "x", "o"};
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<List<String>> rows) {
+        if (rows == null) {
+            return null;
+        }
+
+        int rowCount = rows.size();
+        int columnCount = rows.get(0).size();
+        if (rowCount == CLASSIC_SIZE && columnCount == CLASSIC_SIZE) {
+            int key = 0;
+            for (int tile = CLASSIC_SIZE * CLASSIC_SIZE - 1; tile >= 0; tile--) {
+                key = key * 3 + digitOf(rows.get(tile / CLASSIC_SIZE).get(tile % CLASSIC_SIZE));
+            }
+            return new byte[]{(byte) (key >>> 8), (byte) key};
+        }
+
+        int tileCount = rowCount * columnCount;
+        byte[] column = new byte[2 + (tileCount + TILES_PER_BYTE - 1) / TILES_PER_BYTE];
+        column[0] = (byte) rowCount;
+        column[1] = (byte) columnCount;
+        for (int first = 0; first < tileCount; first += TILES_PER_BYTE) {
+            int packed = 0;
+            for (int tile = Math.min(first + TILES_PER_BYTE, tileCount) - 1; tile >= first; tile--) {
+                packed = packed * 3 + digitOf(rows.get(tile / columnCount).get(tile % columnCount));
+            }
+            column[2 + first / TILES_PER_BYTE] = (byte) packed;
+        }
+        return column;
+    }
+
+    /**
+     * @return the rows as lists that can be changed, as turns are placed in them.
+     */
+    @Override
+    public List<List<String>> convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+
+        if (column.length == CLASSIC_LENGTH) {
+            int key = (column[0] & 0xFF) << 8 | column[1] & 0xFF;
+            return toRows(CLASSIC_SIZE, CLASSIC_SIZE, new int[]{key}, CLASSIC_SIZE * CLASSIC_SIZE);
+        }
+
+        int rowCount = column[0];
+        int columnCount = column[1];
+        int[] packed = new int[column.length - 2];
+        for (int index = 0; index < packed.length; index++) {
+            packed[index] = column[2 + index] & 0xFF;
+        }
+        return toRows(rowCount, columnCount, packed, TILES_PER_BYTE);
+    }
+
+    /**
+     * @param packed base-3 numbers of tilesPerNumber tiles each, in board order.
+     */
+    private static List<List<String>> toRows(int rowCount, int columnCount, int[] packed, int tilesPerNumber) {
+        List<List<String>> rows = new ArrayList<>(rowCount);
+        int tile = 0;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            List<String> row = new ArrayList<>(columnCount);
+            for (int columnIndex = 0; columnIndex < columnCount; columnIndex++, tile++) {
+                int number = tile / tilesPerNumber;
+                row.add(TILES[packed[number] % 3]);
+                packed[number] /= 3;
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static int digitOf(String tile) {
+        switch (tile) {
+            case "":
+                return 0;
+            case "x":
+                return 1;
+            case "o":
+                return 2;
+            default:
+                throw new IllegalArgumentException("Unknown tile: " + tile);
+        }
+    }
+}
@@ -1,18 +1,22 @@
 package tictactoe.game.entity;
 
-import com.vladmihalcea.hibernate.type.json.JsonType;
 import java.util.List;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
-import org.hibernate.annotations.Type;
-import org.hibernate.annotations.TypeDef;
+import javax.persistence.Table;
 import tictactoe.user.entity.AppUser;
 
+/**
+ * Indexed by user and id, for a user's latest games and those past the number kept, see {@link GameRepository}.
+ */
 @Entity
-@TypeDef(name = "json", typeClass = JsonType.class)
+@Table(indexes = @Index(name = "game_app_user_id_id", columnList = "app_user_id, id"))
 public class Game {
 
     public enum PlayerType {
@@ -32,11 +36,29 @@ public class Game {
         DRAW
     }
 
+    /**
+     * How the computer player picks its moves.
+     */
+    public enum ComputerEngine {
+        /**
+         * Precomputed rules on 3x3, alpha-beta search on larger boards.
+         */
+        ALPHA_BETA,
+        /**
+         * Monte Carlo tree search on any board.
+         */
+        MCTS
+    }
+
     @Id
     @GeneratedValue
     private Long id;
 
-    @ManyToOne
+    /**
+     * Not loaded with the game: the user playing it is already at hand, see
+     * {@link tictactoe.game.GameEventStore}, and its id is all the game needs.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     private AppUser appUser;
 
     private PlayerType player1Type;
@@ -47,10 +69,31 @@ public class Game {
 
     private GameState state;
 
-    @Type(type = "json")
-    @Column(columnDefinition = "json")
+    /**
+     * Saved in the "board" column by {@link BoardRowsConverter}. Games saved before then kept their rows as JSON in the
+     * "rows" column, which {@link tictactoe.config.BoardRowsMigration} converts at startup.
+     */
+    @Convert(converter = BoardRowsConverter.class)
+    @Column(name = "board", length = BoardRowsConverter.MAX_LENGTH)
     private List<List<String>> rows;
 
+    /**
+     * How many tiles in a row win. Null for games saved before boards other than 3x3 existed, which play to 3.
+     */
+    private Integer winLength;
+
+    /**
+     * Null for games saved before the engine could be chosen, which play {@link ComputerEngine#ALPHA_BETA}.
+     */
+    private ComputerEngine computerEngine;
+
+    /**
+     * Tiles placed so far, so a full board is noticed without scanning it. Saved, the game's row holds the board as of
+     * that move, and the {@link GameMove}s numbered after it are replayed on load. Null for games saved before it was,
+     * until their first turn counts them from the rows.
+     */
+    private Integer moveCount;
+
     public Long getId() {
         return id;
     }
@@ -106,4 +149,28 @@ public class Game {
     public void setRows(List<List<String>> rows) {
         this.rows = rows;
     }
+
+    public Integer getWinLength() {
+        return winLength;
+    }
+
+    public void setWinLength(Integer winLength) {
+        this.winLength = winLength;
+    }
+
+    public Integer getMoveCount() {
+        return moveCount;
+    }
+
+    public void setMoveCount(Integer moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    public ComputerEngine getComputerEngine() {
+        return computerEngine;
+    }
+
+    public void setComputerEngine(ComputerEngine computerEngine) {
+        this.computerEngine = computerEngine;
+    }
 }
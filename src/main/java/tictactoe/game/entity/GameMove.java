@@ -0,0 +1,60 @@
+package tictactoe.game.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+/**
+ * A move of a game, appended when it is played and never changed. The game's own row is a snapshot as of its move
+ * count, saved every few moves and when the game ends; the moves numbered after it bring the game up to date.
+ */
+@Entity
+@Table(indexes = @Index(name = "game_move_game_move_number", columnList = "game_id, move_number", unique = true))
+public class GameMove {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Game game;
+
+    /**
+     * 1 for the game's first move.
+     */
+    private int moveNumber;
+
+    /**
+     * The tile's index, {@code row index * column count + column index}.
+     */
+    private short tile;
+
+    public GameMove() {
+    }
+
+    public GameMove(Game game, int moveNumber, int tile) {
+        this.game = game;
+        this.moveNumber = moveNumber;
+        this.tile = (short) tile;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    public int getTile() {
+        return tile;
+    }
+}
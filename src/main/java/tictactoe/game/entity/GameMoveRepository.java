@@ -0,0 +1,34 @@
+package tictactoe.game.entity;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface GameMoveRepository extends JpaRepository<GameMove, Long> {
+
+    List<GameMove> findByGameAndMoveNumberGreaterThanOrderByMoveNumber(Game game, int moveNumber);
+
+    /**
+     * Games with moves that can be folded into their snapshot, as no more will be played: those over, and those older
+     * than the game their user points to as current. Each is joined to its user by key. The moves table only holds
+     * those not folded yet, so it stays small. A user not pointed to a game since the pointer was added has their
+     * games' moves folded once the games are over.
+     */
+    @Query("SELECT DISTINCT g FROM GameMove m JOIN m.game g JOIN g.appUser u"
+            + " WHERE g.state <> :inProgress OR g.id < u.currentGameId")
+    List<Game> findSettledGames(@Param("inProgress") Game.GameState inProgress, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM GameMove WHERE game.id IN :gameIds")
+    void deleteByGameIds(@Param("gameIds") Collection<Long> gameIds);
+}
@@ -1,5 +1,6 @@
 package tictactoe.game.entity;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,15 +9,46 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import tictactoe.user.entity.AppUser;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 @Transactional(readOnly = true)
 public interface GameRepository extends JpaRepository<Game, Long> {
 
     Game findFirstByAppUserOrderByIdDesc(AppUser appUser);
 
+    /**
+     * Games in the state that are their user's latest, leaving out games given up for a newer one.
+     */
+    @Query("SELECT COUNT(g) FROM Game g WHERE g.state = :state"
+            + " AND g.id = (SELECT MAX(n.id) FROM Game n WHERE n.appUser = g.appUser)")
+    long countLatestByState(@Param("state") Game.GameState state);
+
+    /**
+     * Users with more than keep games, counted in one pass over the user and id index.
+     */
+    @Query("SELECT g.appUser.id FROM Game g GROUP BY g.appUser.id HAVING COUNT(g) > :keep")
+    List<Long> findIdsOfUsersWithMoreGamesThan(@Param("keep") long keep, Pageable pageable);
+
+    /**
+     * The user's game ids, newest first, read off the user and id index. Paged to skip the games kept, the first
+     * returned is the cutoff: it and every older game of the user can go.
+     */
+    @Query("SELECT g.id FROM Game g WHERE g.appUser.id = :appUserId ORDER BY g.id DESC")
+    List<Long> findIdsByAppUserIdNewestFirst(@Param("appUserId") Long appUserId, Pageable pageable);
+
+    /**
+     * The user's games up to and including the cutoff, oldest first.
+     */
+    @Query("SELECT g.id FROM Game g WHERE g.appUser.id = :appUserId AND g.id <= :cutoffId ORDER BY g.id")
+    List<Long> findIdsByAppUserIdUpTo(
+            @Param("appUserId") Long appUserId, @Param("cutoffId") Long cutoffId, Pageable pageable
+    );
+
     @Modifying
     @Transactional
-    @Query("DELETE FROM Game WHERE appUser = :appUser")
-    void deleteUserGames(@Param("appUser") AppUser appUser);
+    @Query("DELETE FROM Game WHERE id IN :ids")
+    void deleteByIds(@Param("ids") Collection<Long> ids);
 
 }
@@ -0,0 +1,274 @@
+package tictactoe.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tictactoe.user.entity.AppUser;
+import tictactoe.user.entity.AppUserRepository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Where users are looked up, by username on every request and login, and by id. Users found are kept in memory, up to
+ * the max users, the least recently looked up dropped past that, and each for at most the time to live. Changes made
+ * through the cache are seen at once: a saved user is dropped, and a user's current game and password are updated in
+ * place, when the transaction making the change commits. Changes made elsewhere, such as on another server, are seen
+ * once the user's time to live is up.
+ *
+ * Each lookup returns a copy of the user, so the users kept are never changed by their callers. Users not found are
+ * not kept. Hits, misses, evictions and size are published as "tictactoe.user.cache.*" metrics.
+ */
+@Component
+public class AppUserCache {
+
+    private static final class Entry {
+
+        final AppUser appUser;
+        final long expiresAt;
+
+        Entry(AppUser appUser, long expiresAt) {
+            this.appUser = appUser;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final AppUserRepository repository;
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Users by username, least recently looked up first. Guarded by itself, as are the fields below.
+     */
+    private final Map<String, Entry> byUsername;
+
+    /**
+     * The same users by id.
+     */
+    private final Map<Long, Entry> byId = new HashMap<>();
+
+    /**
+     * Counts changes, so that a user loaded while one was made is not kept, as it may be from before it.
+     */
+    private long changeCount;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public AppUserCache(
+            AppUserRepository repository, MeterRegistry meterRegistry, AppUserCacheProperties properties
+    ) {
+        this(repository, meterRegistry, properties, System::nanoTime);
+    }
+
+    AppUserCache(
+            AppUserRepository repository, MeterRegistry meterRegistry, AppUserCacheProperties properties,
+            LongSupplier nanoClock
+    ) {
+        this.repository = repository;
+        this.maxUsers = properties.getMaxUsers();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTtlMillis());
+        this.nanoClock = nanoClock;
+        this.byUsername = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxUsers) {
+                    return false;
+                }
+                byId.remove(eldest.getValue().appUser.getId());
+                evictions.increment();
+                return true;
+            }
+        };
+
+        this.hits = Counter.builder("tictactoe.user.cache.gets")
+                .description("User lookups answered from memory")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("tictactoe.user.cache.gets")
+                .description("User lookups that went to the database")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("tictactoe.user.cache.evictions")
+                .description("Users dropped from memory as the least recently looked up, or their time to live up")
+                .register(meterRegistry);
+        Gauge.builder("tictactoe.user.cache.size", this, AppUserCache::size)
+                .description("Users kept in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the user, or null if there is none with the username.
+     */
+    public AppUser findByUsername(String username) {
+        return find(byUsername, username, () -> repository.findByUsername(username));
+    }
+
+    /**
+     * @return the user, or null if there is none with the id.
+     */
+    public AppUser findById(Long id) {
+        return find(byId, id, () -> repository.findById(id).orElse(null));
+    }
+
+    private <K> AppUser find(Map<K, Entry> index, K key, Supplier<AppUser> load) {
+        if (maxUsers <= 0) {
+            return load.get();
+        }
+
+        long loadChangeCount;
+        synchronized (byUsername) {
+            Entry entry = index.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - nanoClock.getAsLong() > 0) {
+                    // looked up by id, it is still the most recent
+                    byUsername.get(entry.appUser.getUsername());
+                    hits.increment();
+                    return copyOf(entry.appUser);
+                }
+                remove(entry);
+                evictions.increment();
+            }
+            loadChangeCount = changeCount;
+        }
+
+        misses.increment();
+        AppUser appUser = load.get();
+        if (appUser != null) {
+            synchronized (byUsername) {
+                if (changeCount == loadChangeCount) {
+                    put(new Entry(copyOf(appUser), nanoClock.getAsLong() + ttlNanos));
+                }
+            }
+        }
+        return appUser;
+    }
+
+    /**
+     * Save the user, dropping the one kept, so that it is loaded again as saved.
+     * @return the user saved.
+     */
+    public AppUser save(AppUser appUser) {
+        AppUser saved = repository.save(appUser);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Point the user to their current game, in the database and, once that commits, in memory.
+     */
+    public void updateCurrentGameId(Long userId, Long gameId) {
+        repository.updateCurrentGameId(userId, gameId);
+        afterCommit(() -> {
+            synchronized (byUsername) {
+                changeCount++;
+                Entry entry = byId.get(userId);
+                if (entry != null) {
+                    AppUser appUser = copyOf(entry.appUser);
+                    appUser.setCurrentGameId(gameId);
+                    put(new Entry(appUser, entry.expiresAt));
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace the user's password hash, in the database and, once that commits, in memory.
+     */
+    public void updatePassword(String username, String encodedPassword) {
+        repository.updatePassword(username, encodedPassword);
+        afterCommit(() -> {
+            synchronized (byUsername) {
+                changeCount++;
+                Entry entry = byUsername.get(username);
+                if (entry != null) {
+                    AppUser appUser = copyOf(entry.appUser);
+                    appUser.setPassword(encodedPassword);
+                    put(new Entry(appUser, entry.expiresAt));
+                }
+            }
+        });
+    }
+
+    /**
+     * Change the users kept once the transaction the change is made in commits, so that one rolled back leaves them as
+     * the database has them, or at once outside a transaction.
+     */
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Drop the user, if kept, so that the next lookup loads them again.
+     */
+    public void invalidate(Long userId) {
+        synchronized (byUsername) {
+            changeCount++;
+            Entry entry = byId.get(userId);
+            if (entry != null) {
+                remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Drop every user kept.
+     */
+    public void invalidateAll() {
+        synchronized (byUsername) {
+            changeCount++;
+            byUsername.clear();
+            byId.clear();
+        }
+    }
+
+    int size() {
+        synchronized (byUsername) {
+            return byUsername.size();
+        }
+    }
+
+    private void put(Entry entry) {
+        Entry previous = byId.get(entry.appUser.getId());
+        if (previous != null) {
+            remove(previous);
+        }
+        byId.put(entry.appUser.getId(), entry);
+        byUsername.put(entry.appUser.getUsername(), entry);
+    }
+
+    private void remove(Entry entry) {
+        byUsername.remove(entry.appUser.getUsername());
+        byId.remove(entry.appUser.getId());
+    }
+
+    private static AppUser copyOf(AppUser appUser) {
+        AppUser copy = new AppUser();
+        copy.setId(appUser.getId());
+        copy.setUsername(appUser.getUsername());
+        copy.setPassword(appUser.getPassword());
+        copy.setCurrentGameId(appUser.getCurrentGameId());
+        return copy;
+    }
+}
@@ -0,0 +1,40 @@
+package tictactoe.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@link AppUserCache}, bound from the "tictactoe.user-cache.*" application properties.
+ * A new instance holds the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "tictactoe.user-cache")
+public class AppUserCacheProperties {
+
+    /**
+     * Users kept in memory, the least recently looked up dropped past that. 0 turns the cache off and looks every user
+     * up in the database.
+     */
+    private int maxUsers = 10_000;
+
+    /**
+     * Time a user is kept after it was loaded, the longest a change made outside this server goes unseen.
+     */
+    private long ttlMillis = 300_000;
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+}
@@ -6,33 +6,42 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import tictactoe.user.entity.AppUser;
-import tictactoe.user.entity.AppUserRepository;
 
+/**
+ * Users for Spring Security's logins. Being a {@link UserDetailsPasswordService}, it is handed a new hash of the
+ * password of a user who logs in with a hash {@link BoundedPasswordEncoder} finds needs upgrading, and saves it.
+ */
 @Component
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
-    public static final PasswordEncoder PASSWORD_ENCODER = new BCryptPasswordEncoder();
-
-    private final AppUserRepository repository;
+    private final AppUserCache appUserCache;
 
     @Autowired
-    public AppUserDetailsService(AppUserRepository repository) {
-        this.repository = repository;
+    public AppUserDetailsService(AppUserCache appUserCache) {
+        this.appUserCache = appUserCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        AppUser appUser = repository.findByUsername(username);
+        AppUser appUser = appUserCache.findByUsername(username);
         if (appUser == null) {
             throw new UsernameNotFoundException("Invalid username: " + username);
         }
-        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("USER");
-        return new User(appUser.getUsername(), appUser.getPassword(), authorities);
+        return new User(appUser.getUsername(), appUser.getPassword(), createAuthorities());
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        appUserCache.updatePassword(user.getUsername(), newPassword);
+        return new User(user.getUsername(), newPassword, createAuthorities());
+    }
+
+    private static List<GrantedAuthority> createAuthorities() {
+        return AuthorityUtils.createAuthorityList("USER");
     }
 }
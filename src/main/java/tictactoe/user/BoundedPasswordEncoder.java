@@ -0,0 +1,145 @@
+package tictactoe.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The password encoder of logins, which hashes and checks passwords on a pool of its own threads, so that a burst of
+ * logins takes at most the pool's share of the processors, and game requests keep the rest. A login waits for its turn
+ * in the queue, and one that finds the queue full fails at once rather than pile up, with an
+ * {@link AuthenticationServiceException} telling the user to try again shortly, not as if their password were wrong.
+ *
+ * Hashes are BCrypt, prefixed "{bcrypt}" so that another algorithm can be brought in beside it. Hashes saved unprefixed
+ * or with fewer log rounds than the strength are seen to need upgrading, and are made again when their user next logs
+ * in, see {@link AppUserDetailsService#updatePassword}.
+ *
+ * The queue, threads busy, rejections and time per password are published as "tictactoe.password.*" metrics.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String BCRYPT = "bcrypt";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Counter rejections;
+
+    @Autowired
+    public BoundedPasswordEncoder(PasswordProperties properties, MeterRegistry meterRegistry) {
+        this(createDelegatingEncoder(properties.getBcryptStrength()), properties, meterRegistry);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, PasswordProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        int threads = properties.getThreads();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        this.hashTimer = Timer.builder("tictactoe.password.hash")
+                .description("Time to hash or check a password, its wait in the queue included")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("tictactoe.password.rejected")
+                .description("Passwords not hashed or checked as the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("tictactoe.password.queue", executor, pool -> pool.getQueue().size())
+                .description("Passwords waiting to be hashed or checked")
+                .register(meterRegistry);
+        Gauge.builder("tictactoe.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Passwords being hashed or checked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return an encoder that makes BCrypt hashes of the strength, prefixed "{bcrypt}", and checks those and the
+     *         unprefixed BCrypt hashes saved before.
+     */
+    public static PasswordEncoder createDelegatingEncoder(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder =
+                new DelegatingPasswordEncoder(BCRYPT, Collections.singletonMap(BCRYPT, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Only reads the hash, so done on the calling thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new AuthenticationServiceException("Too many logins at once, try again shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted waiting for a password to be checked", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
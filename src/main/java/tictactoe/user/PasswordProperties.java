@@ -0,0 +1,54 @@
+package tictactoe.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@link BoundedPasswordEncoder}, bound from the "tictactoe.password.*" application properties.
+ * A new instance holds the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "tictactoe.password")
+public class PasswordProperties {
+
+    /**
+     * BCrypt log rounds new hashes are made with. Each one more doubles the time to hash and check a password. A user
+     * whose hash was made with fewer has it made again when they next log in.
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Passwords hashed or checked at once, half the processors by default, so logins leave the rest to game requests.
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Passwords waiting to be hashed or checked. A login finding the queue full fails at once rather than wait, with a
+     * "try again shortly" error rather than a bad password's.
+     */
+    private int queueSize = 100;
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+}
@@ -0,0 +1,66 @@
+package tictactoe.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for {@link UserImporter}, bound from the "tictactoe.user-import.*" application properties.
+ * A new instance holds the defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "tictactoe.user-import")
+public class UserImportProperties {
+
+    /**
+     * File of users to add at startup, CSV or, named *.ndjson or *.jsonl, one JSON object a line. None by default.
+     */
+    private String file;
+
+    /**
+     * Users inserted per JDBC batch, and hashed per task.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Passwords hashed at once, half the processors by default as for logins, since an import runs once the server
+     * already takes requests and leaves the rest to them.
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Time between progress reports in the log.
+     */
+    private long progressIntervalMillis = 5000;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getProgressIntervalMillis() {
+        return progressIntervalMillis;
+    }
+
+    public void setProgressIntervalMillis(long progressIntervalMillis) {
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+}
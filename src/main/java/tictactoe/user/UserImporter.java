@@ -0,0 +1,366 @@
+package tictactoe.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adds users from a file too large to hold in memory, for load tests and migrations. The file is read a batch of users
+ * at a time, each batch's passwords hashed on a pool of threads, and each batch inserted with one JDBC batch, in its
+ * own transaction. At most one batch per thread is hashed ahead of the inserts, so memory stays the same whatever the
+ * size of the file. Progress and users per second are logged every progress interval.
+ *
+ * A file is CSV, a username and a password a line, the first line skipped if it is the header "username,password", or,
+ * if named *.ndjson or *.jsonl, a JSON object with "username" and "password" a line. Blank, malformed and incomplete
+ * lines are skipped and counted. A username already saved, or seen earlier in the file, is skipped and counted as a
+ * duplicate: each batch is checked against the saved usernames in its insert's transaction.
+ *
+ * Ids are taken from the sequence Hibernate gives the entities theirs from, in the SQL of the database's dialect.
+ * Importing needs a database with sequences.
+ */
+@Component
+public class UserImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImporter.class);
+
+    /**
+     * The sequence Hibernate gives {@link tictactoe.user.entity.AppUser} its ids from.
+     */
+    private static final String ID_SEQUENCE = "hibernate_sequence";
+
+    private static final String SELECT_SAVED_USERNAMES = "select username from app_user where username in (%s)";
+
+    private static final String CSV_HEADER = "username,password";
+
+    /**
+     * Users added and skipped by an import, and the time it took.
+     */
+    public static final class Result {
+
+        private final long imported;
+        private final long skipped;
+        private final long duplicates;
+        private final long elapsedNanos;
+
+        Result(long imported, long skipped, long duplicates, long elapsedNanos) {
+            this.imported = imported;
+            this.skipped = skipped;
+            this.duplicates = duplicates;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        /**
+         * @return the lines that were not a username and password.
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return the users not added as their username was already taken.
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getUsersPerSecond() {
+            return elapsedNanos == 0 ? 0 : imported * 1e9 / elapsedNanos;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Null for a database without sequences, which cannot be imported to.
+     */
+    private final String insertUser;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final int batchSize;
+    private final int threads;
+    private final long progressIntervalNanos;
+
+    /**
+     * Hashes are made with the strength logins use, on the importer's own threads rather than queued behind logins, see
+     * {@link BoundedPasswordEncoder}. The import runs while the server takes requests, so its threads are bounded by
+     * {@link UserImportProperties#getThreads()} as the logins' are by theirs.
+     */
+    @Autowired
+    public UserImporter(
+            JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, UserImportProperties properties,
+            PasswordProperties passwordProperties
+    ) {
+        this(
+                jdbcTemplate, nextIdOf(entityManagerFactory), transactionManager, objectMapper,
+                BoundedPasswordEncoder.createDelegatingEncoder(passwordProperties.getBcryptStrength()), properties
+        );
+    }
+
+    /**
+     * @param nextId the SQL expression giving the next id of the sequence, or null if the database has none.
+     */
+    UserImporter(
+            JdbcTemplate jdbcTemplate, String nextId, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, PasswordEncoder passwordEncoder, UserImportProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertUser = nextId == null
+                ? null
+                : "insert into app_user (id, username, password) values (" + nextId + ", ?, ?)";
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.threads = Math.max(1, properties.getThreads());
+        this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getProgressIntervalMillis());
+    }
+
+    private static String nextIdOf(EntityManagerFactory entityManagerFactory) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return dialect.supportsSequences() ? dialect.getSelectSequenceNextValString(ID_SEQUENCE) : null;
+    }
+
+    public Result importFile(Path file) throws IOException, InterruptedException {
+        String name = file.getFileName().toString();
+        boolean ndjson = name.endsWith(".ndjson") || name.endsWith(".jsonl");
+        logger.info("Importing users from {} as {}", file, ndjson ? "NDJSON" : "CSV");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importUsers(reader, ndjson);
+        }
+    }
+
+    Result importUsers(BufferedReader reader, boolean ndjson) throws IOException, InterruptedException {
+        if (insertUser == null) {
+            throw new IllegalStateException("Users can only be imported to a database with sequences");
+        }
+
+        long start = System.nanoTime();
+        long lastReport = start;
+        long imported = 0;
+        long duplicates = 0;
+        UserReader users = new UserReader(reader, ndjson);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<List<Object[]>>> hashing = new ArrayDeque<>();
+        try {
+            boolean more = true;
+            while (more || !hashing.isEmpty()) {
+                if (more) {
+                    List<String[]> batch = users.readBatch(batchSize);
+                    more = batch.size() == batchSize;
+                    if (!batch.isEmpty()) {
+                        hashing.addLast(executor.submit(() -> hash(batch)));
+                    }
+                }
+                if (hashing.isEmpty() || (more && hashing.size() <= threads)) {
+                    continue;
+                }
+
+                List<Object[]> hashed = getHashed(hashing.removeFirst());
+                List<Object[]> inserted = transactionTemplate.execute(status -> {
+                    List<Object[]> newUsers = withoutSavedUsernames(hashed);
+                    if (!newUsers.isEmpty()) {
+                        jdbcTemplate.batchUpdate(insertUser, newUsers);
+                    }
+                    return newUsers;
+                });
+                if (duplicates == 0 && inserted.size() < hashed.size()) {
+                    logger.warn("Skipping users whose username is taken, and only counting any more");
+                }
+                imported += inserted.size();
+                duplicates += hashed.size() - inserted.size();
+
+                long now = System.nanoTime();
+                if (now - lastReport >= progressIntervalNanos) {
+                    lastReport = now;
+                    logger.info("Imported {} users, skipped {} lines and {} duplicates, {} users/s",
+                            imported, users.skipped, duplicates, Math.round(imported * 1e9 / (now - start)));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(imported, users.skipped, duplicates, System.nanoTime() - start);
+        logger.info("Imported {} users in {} ms, {} users/s, skipped {} lines and {} duplicates",
+                result.getImported(), TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()),
+                Math.round(result.getUsersPerSecond()), result.getSkipped(), result.getDuplicates());
+        return result;
+    }
+
+    /**
+     * @return the users of the batch whose username is neither saved nor taken by one before them in the batch.
+     */
+    private List<Object[]> withoutSavedUsernames(List<Object[]> batch) {
+        Object[] usernames = new Object[batch.size()];
+        for (int index = 0; index < batch.size(); index++) {
+            usernames[index] = batch.get(index)[0];
+        }
+        String placeholders = String.join(",", Collections.nCopies(usernames.length, "?"));
+        Set<String> taken = new HashSet<>(jdbcTemplate.query(
+                String.format(SELECT_SAVED_USERNAMES, placeholders), new ArgumentPreparedStatementSetter(usernames),
+                (resultSet, rowNumber) -> resultSet.getString(1)
+        ));
+
+        List<Object[]> newUsers = new ArrayList<>(batch.size());
+        for (Object[] user : batch) {
+            if (taken.add((String) user[0])) {
+                newUsers.add(user);
+            }
+        }
+        return newUsers;
+    }
+
+    private List<Object[]> hash(List<String[]> batch) {
+        List<Object[]> hashed = new ArrayList<>(batch.size());
+        for (String[] user : batch) {
+            hashed.add(new Object[]{user[0], passwordEncoder.encode(user[1])});
+        }
+        return hashed;
+    }
+
+    private static List<Object[]> getHashed(Future<List<Object[]>> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Reads the users of a file, a username and password each, skipping and counting the lines that are not one.
+     */
+    private final class UserReader {
+
+        private final BufferedReader reader;
+        private final boolean ndjson;
+        private long lineNumber;
+        private long skipped;
+
+        UserReader(BufferedReader reader, boolean ndjson) {
+            this.reader = reader;
+            this.ndjson = ndjson;
+        }
+
+        /**
+         * @return the next users, as many as the batch size unless the file ends first.
+         */
+        List<String[]> readBatch(int batchSize) throws IOException {
+            List<String[]> batch = new ArrayList<>(batchSize);
+            String line;
+            while (batch.size() < batchSize && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && !ndjson && line.replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+                    continue;
+                }
+
+                String[] user = ndjson ? parseJson(line) : parseCsv(line);
+                if (user == null || user[0].isEmpty() || user[1].isEmpty()) {
+                    if (skipped == 0) {
+                        logger.warn("Skipping line {}, not a username and password, and only counting any more",
+                                lineNumber);
+                    }
+                    skipped++;
+                } else {
+                    batch.add(user);
+                }
+            }
+            return batch;
+        }
+
+        private String[] parseJson(String line) {
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                JsonNode username = node == null ? null : node.get("username");
+                JsonNode password = node == null ? null : node.get("password");
+                if (username == null || !username.isTextual() || password == null || !password.isTextual()) {
+                    return null;
+                }
+                return new String[]{username.asText().trim(), password.asText()};
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Fields may be quoted, a quote in one doubled.
+         */
+        private String[] parseCsv(String line) {
+            List<String> fields = new ArrayList<>(2);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int index = 0; index < line.length(); index++) {
+                char c = line.charAt(index);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                        field.append('"');
+                        index++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields.size() == 2 && !quoted ? new String[]{fields.get(0).trim(), fields.get(1)} : null;
+        }
+    }
+}
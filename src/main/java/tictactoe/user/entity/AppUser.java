@@ -3,8 +3,14 @@ package tictactoe.user.entity;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
+/**
+ * Usernames are unique, as logins look a user up by theirs.
+ */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "app_user_username", columnNames = "username"))
 public class AppUser {
 
     @Id
@@ -15,6 +21,12 @@ public class AppUser {
 
     private String password;
 
+    /**
+     * The id of the user's latest game, so it is looked up by key rather than searched for among all their games.
+     * Null for a user who has not played since it was added.
+     */
+    private Long currentGameId;
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -38,4 +50,12 @@ public class AppUser {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public Long getCurrentGameId() {
+        return currentGameId;
+    }
+
+    public void setCurrentGameId(Long currentGameId) {
+        this.currentGameId = currentGameId;
+    }
 }
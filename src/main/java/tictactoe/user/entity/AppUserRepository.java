@@ -1,6 +1,9 @@
 package tictactoe.user.entity;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,4 +12,14 @@ import org.springframework.transaction.annotation.Transactional;
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
 
     AppUser findByUsername(String name);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AppUser SET currentGameId = :gameId WHERE id = :userId")
+    void updateCurrentGameId(@Param("userId") Long userId, @Param("gameId") Long gameId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AppUser SET password = :password WHERE username = :username")
+    void updatePassword(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,38 @@
+package tictactoe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void getPercentile_UniformDurations_WithinOneSixteenth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000);
+        assertThat(histogram.getMean()).isEqualTo(50_000);
+        assertThat(histogram.getPercentile(50)).isCloseTo(50_000L, within(50_000L / 16));
+        assertThat(histogram.getPercentile(99)).isCloseTo(99_000L, within(99_000L / 16));
+        assertThat(histogram.getPercentile(100)).isEqualTo(100_000);
+    }
+
+    @Test
+    void add_TwoHistograms_CountsAndMaxCombined() {
+        LatencyHistogram first = new LatencyHistogram();
+        first.record(10);
+        LatencyHistogram second = new LatencyHistogram();
+        second.record(3_000_000_000L);
+
+        first.add(second);
+
+        assertThat(first.getCount()).isEqualTo(2);
+        assertThat(first.getMax()).isEqualTo(3_000_000_000L);
+        assertThat(first.getPercentile(50)).isEqualTo(10);
+    }
+}
@@ -0,0 +1,72 @@
+package tictactoe;
+
+import org.junit.jupiter.api.Test;
+import tictactoe.game.entity.Game.ComputerEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SelfPlayArenaTest {
+
+    @Test
+    void run_SameSeed_SameGames() throws Exception {
+        String[] args = {"--games=200", "--threads=2", "--random-openings=2", "--seed=7"};
+
+        SelfPlayArena.Results first = new SelfPlayArena(SelfPlayArena.parseOptions(args)).run(discard());
+        SelfPlayArena.Results second = new SelfPlayArena(SelfPlayArena.parseOptions(args)).run(discard());
+
+        assertThat(first.getGames()).isEqualTo(200);
+        assertThat(first.outcomes).isDeepEqualTo(second.outcomes);
+    }
+
+    @Test
+    void run_TwoEngines_BothPlayEachSideAndReported() throws Exception {
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        String[] args = {"--games=10", "--threads=1", "--variant=CLASSIC", "--engines=ALPHA_BETA,MCTS", "--nodes=200"};
+
+        SelfPlayArena.Results results = new SelfPlayArena(SelfPlayArena.parseOptions(args))
+                .run(new PrintStream(report, true));
+
+        assertThat(Arrays.stream(results.outcomes[0]).sum()).isEqualTo(5);
+        assertThat(Arrays.stream(results.outcomes[1]).sum()).isEqualTo(5);
+        assertThat(results.latencies).containsOnlyKeys(ComputerEngine.ALPHA_BETA, ComputerEngine.MCTS);
+        assertThat(report.toString())
+                .contains("games per second")
+                .contains("ALPHA_BETA as X, MCTS as O, 5 games")
+                .contains("MCTS as X, ALPHA_BETA as O, 5 games");
+    }
+
+    /**
+     * Larger boards take the paths of {@link tictactoe.game.GameService} a 3x3 board does not, so that one calling the
+     * game repository in a way {@link InMemoryGameRepository} does not answer fails here.
+     */
+    @Test
+    void run_FourInARowTwoEngines_GamesPlayedInMemory() throws Exception {
+        String[] args = {
+                "--games=4", "--threads=1", "--variant=FOUR_IN_A_ROW", "--engines=ALPHA_BETA,MCTS", "--nodes=200"
+        };
+
+        SelfPlayArena.Results results = new SelfPlayArena(SelfPlayArena.parseOptions(args)).run(discard());
+
+        assertThat(results.getGames()).isEqualTo(4);
+        assertThat(Arrays.stream(results.outcomes[0]).sum()).isEqualTo(2);
+        assertThat(Arrays.stream(results.outcomes[1]).sum()).isEqualTo(2);
+        assertThat(results.latencies).containsOnlyKeys(ComputerEngine.ALPHA_BETA, ComputerEngine.MCTS);
+    }
+
+    @Test
+    void new_UnknownOption_ThrowException() {
+        assertThatThrownBy(() -> new SelfPlayArena(Map.of("gmaes", "10")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("gmaes");
+    }
+
+    private static PrintStream discard() {
+        return new PrintStream(new ByteArrayOutputStream());
+    }
+}
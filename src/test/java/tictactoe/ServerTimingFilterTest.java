@@ -0,0 +1,70 @@
+package tictactoe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tictactoe.ServerTiming.Stage;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @Test
+    void doFilter_GamePage_HeaderWithRecordedStages() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tictactoe/");
+        request.setServletPath("/");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (chainRequest, chainResponse) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((HttpServletRequest) chainRequest));
+            try {
+                ServerTiming.recordElapsed(Stage.USER, 1_500_000);
+                ServerTiming.recordElapsed(Stage.PERSIST, 250_000);
+                ServerTiming.recordElapsed(Stage.PERSIST, 250_000);
+                chainResponse.getWriter().write("board");
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getHeader(ServerTiming.HEADER)).startsWith(
+                "user;desc=\"User lookup\";dur=1.500, db;desc=\"Persistence\";dur=0.500, total;desc=\"Total\";dur="
+        );
+        assertThat(response.getContentAsString()).isEqualTo("board");
+    }
+
+    @Test
+    void doFilter_StaticResource_NoHeader() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tictactoe/css/main.css");
+        request.setServletPath("/css/main.css");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (chainRequest, chainResponse) -> {});
+
+        assertThat(response.getHeader(ServerTiming.HEADER)).isNull();
+        assertThat(request.getAttribute(ServerTiming.ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void record_RequestNotTimed_Ignored() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            ServerTiming.record(Stage.USER, System.nanoTime());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(request.getAttribute(ServerTiming.ATTRIBUTE)).isNull();
+    }
+}
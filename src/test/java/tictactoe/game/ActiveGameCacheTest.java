@@ -0,0 +1,255 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.entity.AppUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveGameCacheTest {
+
+    private static final long NO_SCHEDULED_FLUSH = 3_600_000;
+
+    @Mock
+    private GameRepository mockRepository;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private ActiveGameCache cache;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void create_WriteThrough_SavedEarlierGamesKept() {
+        cache = new ActiveGameCache(mockRepository);
+        Game game = gameOf(userOf(1L));
+
+        cache.create(game);
+
+        verify(mockRepository).save(game);
+        verifyNoMoreInteractions(mockRepository);
+    }
+
+    @Test
+    void save_WriteBehind_WrittenOnFlushOnly() {
+        cache = writeBehind(10, 100);
+        AppUser appUser = userOf(1L);
+        Game game = gameOf(appUser);
+
+        cache.create(game);
+        cache.save(game, 4);
+
+        assertThat(cache.getLatest(appUser)).isSameAs(game);
+        verify(mockRepository, never()).save(any());
+        verify(mockRepository, never()).findFirstByAppUserOrderByIdDesc(any());
+
+        cache.flush();
+
+        verify(mockRepository, times(2)).save(any(Game.class));
+        verify(mockTransactionManager).commit(any());
+    }
+
+    @Test
+    void flush_MovePlacedAfterQueued_GameWrittenAsQueued() {
+        cache = writeBehind(10, 100);
+        Game game = gameOf(userOf(1L));
+        game.setId(7L);
+        List<Game> written = new ArrayList<>();
+        when(mockRepository.save(any(Game.class))).thenAnswer(invocation -> {
+            Game saved = invocation.getArgument(0);
+            written.add(saved);
+            return saved;
+        });
+
+        cache.save(game, 4);
+        game.getRows().get(0).set(0, "o");
+        game.setMoveCount(2);
+        cache.flush();
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).isNotSameAs(game);
+        assertThat(written.get(0).getId()).isEqualTo(7L);
+        assertThat(written.get(0).getMoveCount()).isEqualTo(1);
+        assertThat(written.get(0).getRows().get(0).get(0)).isEmpty();
+    }
+
+    @Test
+    void flush_FiveGamesBatchSizeTwo_ThreeTransactions() {
+        cache = writeBehind(10, 2);
+        for (long userId = 1; userId <= 5; userId++) {
+            cache.save(gameOf(userOf(userId)), 4);
+        }
+
+        cache.flush();
+
+        verify(mockRepository, times(5)).save(any());
+        verify(mockTransactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void flush_WriteFails_WrittenByNextFlush() {
+        cache = writeBehind(10, 100);
+        Game game = gameOf(userOf(1L));
+        game.setId(7L);
+        when(mockRepository.save(any(Game.class)))
+                .thenThrow(new IllegalStateException("Database down"))
+                .thenReturn(game);
+
+        cache.save(game, 4);
+        cache.flush();
+        cache.flush();
+
+        verify(mockRepository, times(2)).save(any(Game.class));
+    }
+
+    @Test
+    void flush_OneUsersWriteAlwaysFails_OthersWrittenItDropped() {
+        GameCacheProperties properties = writeBehindProperties(10, 100);
+        properties.setMaxPendingWrites(1);
+        properties.setMaxWriteAttempts(2);
+        cache = new ActiveGameCache(
+                new GameEventStore(mockRepository), mockRepository, mockTransactionManager, properties
+        );
+        List<Long> writtenUserIds = new ArrayList<>();
+        AtomicInteger failedWrites = new AtomicInteger();
+        when(mockRepository.save(any(Game.class))).thenAnswer(invocation -> {
+            Game saved = invocation.getArgument(0);
+            if (saved.getAppUser().getId() == 2L) {
+                failedWrites.incrementAndGet();
+                throw new IllegalStateException("Duplicate move");
+            }
+            writtenUserIds.add(saved.getAppUser().getId());
+            return saved;
+        });
+        for (long userId = 1; userId <= 3; userId++) {
+            Game game = gameOf(userOf(userId));
+            game.setId(userId);
+            cache.save(game, 4);
+        }
+
+        cache.flush();
+
+        assertThat(writtenUserIds).contains(1L, 3L).doesNotContain(2L);
+        assertThat(failedWrites).hasValue(2);
+        assertThatThrownBy(cache::checkCapacity).isInstanceOf(IllegalStateException.class);
+
+        cache.flush();
+        cache.flush();
+
+        assertThat(failedWrites).hasValue(3);
+        cache.checkCapacity();
+    }
+
+    @Test
+    void checkCapacity_MaxPendingWritesQueued_RefusedUntilFlushed() {
+        GameCacheProperties properties = writeBehindProperties(10, 100);
+        properties.setMaxPendingWrites(2);
+        cache = new ActiveGameCache(
+                new GameEventStore(mockRepository), mockRepository, mockTransactionManager, properties
+        );
+        Game game = gameOf(userOf(1L));
+
+        cache.save(game, 4);
+        cache.checkCapacity();
+        cache.save(game, 0);
+
+        assertThatThrownBy(cache::checkCapacity).isInstanceOf(IllegalStateException.class);
+
+        cache.flush();
+        cache.checkCapacity();
+    }
+
+    @Test
+    void getLatest_NotCached_LoadedOnce() {
+        cache = writeBehind(10, 100);
+        AppUser appUser = userOf(1L);
+        Game game = gameOf(appUser);
+        when(mockRepository.findFirstByAppUserOrderByIdDesc(appUser)).thenReturn(game);
+
+        assertThat(cache.getLatest(appUser)).isSameAs(game);
+        assertThat(cache.getLatest(appUser)).isSameAs(game);
+
+        verify(mockRepository).findFirstByAppUserOrderByIdDesc(appUser);
+    }
+
+    @Test
+    void getLatest_EvictedBeforeFlush_PendingGameNotReloaded() {
+        cache = writeBehind(1, 100);
+        AppUser appUser = userOf(1L);
+        Game game = gameOf(appUser);
+
+        cache.save(game, 4);
+        cache.save(gameOf(userOf(2L)), 4);
+
+        assertThat(cache.getLatest(appUser)).isSameAs(game);
+        verify(mockRepository, never()).findFirstByAppUserOrderByIdDesc(any());
+    }
+
+    @Test
+    void shutdown_PendingGame_Written() throws InterruptedException {
+        cache = writeBehind(10, 100);
+        Game game = gameOf(userOf(1L));
+
+        cache.save(game, 4);
+        cache.shutdown();
+
+        verify(mockRepository).save(any(Game.class));
+    }
+
+    private ActiveGameCache writeBehind(int maxGames, int batchSize) {
+        return new ActiveGameCache(
+                new GameEventStore(mockRepository), mockRepository, mockTransactionManager,
+                writeBehindProperties(maxGames, batchSize)
+        );
+    }
+
+    private static GameCacheProperties writeBehindProperties(int maxGames, int batchSize) {
+        GameCacheProperties properties = new GameCacheProperties();
+        properties.setMaxGames(maxGames);
+        properties.setBatchSize(batchSize);
+        properties.setFlushIntervalMillis(NO_SCHEDULED_FLUSH);
+        return properties;
+    }
+
+    private static AppUser userOf(Long id) {
+        AppUser appUser = new AppUser();
+        appUser.setId(id);
+        return appUser;
+    }
+
+    /**
+     * @return a game with one move placed, on tile 4.
+     */
+    private static Game gameOf(AppUser appUser) {
+        Game game = new Game();
+        game.setAppUser(appUser);
+        game.setRows(BoardUtil.createEmpty());
+        game.getRows().get(1).set(1, "x");
+        game.setMoveCount(1);
+        return game;
+    }
+}
@@ -0,0 +1,115 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlphaBetaSearchTest {
+
+    @Test
+    void findBestMove_CanWin_TakesWin() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(2, 0), geometry.indexOf(2, 1), geometry.indexOf(2, 2));
+        placeAll(board, BoardTile.O, geometry.indexOf(0, 0), geometry.indexOf(0, 1), geometry.indexOf(0, 2));
+
+        int tile = new AlphaBetaSearch(board, 4, 100_000).findBestMove(BoardTile.X);
+
+        assertThat(tile).isEqualTo(geometry.indexOf(2, 3));
+    }
+
+    @Test
+    void findBestMove_OpponentCanWin_Blocks() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(0, 1), geometry.indexOf(1, 1), geometry.indexOf(2, 1));
+        placeAll(board, BoardTile.O, geometry.indexOf(4, 4), geometry.indexOf(4, 3));
+
+        int tile = new AlphaBetaSearch(board, 4, 100_000).findBestMove(BoardTile.O);
+
+        assertThat(tile).isEqualTo(geometry.indexOf(3, 1));
+    }
+
+    @Test
+    void findBestMove_EmptyLargeBoard_Center() {
+        GridBoard board = new GridBoard(BoardGeometry.of(15, 15, 5));
+
+        int tile = new AlphaBetaSearch(board, 4, 100_000).findBestMove(BoardTile.X);
+
+        assertThat(board.getGeometry().tileId(tile)).isEqualTo("7-7");
+    }
+
+    @Test
+    void findBestMove_SmallNodeBudget_StaysNearBudget() {
+        GridBoard board = new GridBoard(BoardGeometry.of(15, 15, 5));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(7, 7), geometry.indexOf(8, 8));
+        placeAll(board, BoardTile.O, geometry.indexOf(7, 8), geometry.indexOf(6, 6));
+        AlphaBetaSearch search = new AlphaBetaSearch(board, 8, 500);
+
+        int tile = search.findBestMove(BoardTile.X);
+
+        assertThat(board.isEmpty(tile)).isTrue();
+        assertThat(search.getNodes()).isLessThanOrEqualTo(500);
+        assertThat(board.getMoveCount()).isEqualTo(4);
+    }
+
+    @Test
+    void findBestMove_FullBoard_NoTile() {
+        GridBoard board = new GridBoard(BoardGeometry.of(3, 4, 3));
+        for (int tile = 0; tile < 12; tile++) {
+            board.place(tile, tile % 2 == 0 ? BoardTile.X : BoardTile.O);
+        }
+
+        assertThat(new AlphaBetaSearch(board, 4, 1_000).findBestMove(BoardTile.X)).isEqualTo(Board.NO_TILE);
+    }
+
+    @Test
+    void findBestMove_DeadlinePassed_MoveFromDepthOne() {
+        GridBoard board = new GridBoard(BoardGeometry.of(15, 15, 5));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(7, 7), geometry.indexOf(8, 8));
+        placeAll(board, BoardTile.O, geometry.indexOf(7, 8), geometry.indexOf(6, 6));
+        AlphaBetaSearch search = new AlphaBetaSearch(board, 8, Long.MAX_VALUE);
+        search.setDeadline(System.nanoTime() - 1);
+
+        int tile = search.findBestMove(BoardTile.X);
+
+        assertThat(board.isEmpty(tile)).isTrue();
+        assertThat(search.getCompletedDepth()).isEqualTo(1);
+        assertThat(board.getMoveCount()).isEqualTo(4);
+    }
+
+    @Test
+    void findBestMove_WithinBudget_CompletesMaxDepth() {
+        GridBoard board = new GridBoard(BoardGeometry.of(4, 4, 3));
+        board.place(5, BoardTile.X);
+        board.place(0, BoardTile.O);
+        AlphaBetaSearch search = new AlphaBetaSearch(board, 3, Long.MAX_VALUE);
+        search.setDeadline(System.nanoTime() + 60_000_000_000L);
+
+        search.findBestMove(BoardTile.X);
+
+        assertThat(search.getCompletedDepth()).isEqualTo(3);
+    }
+
+    @Test
+    void findBestMove_ForcedWin_StopsDeepening() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(2, 0), geometry.indexOf(2, 1), geometry.indexOf(2, 2));
+        placeAll(board, BoardTile.O, geometry.indexOf(0, 0), geometry.indexOf(0, 1), geometry.indexOf(0, 2));
+        AlphaBetaSearch search = new AlphaBetaSearch(board, 8, Long.MAX_VALUE);
+
+        search.findBestMove(BoardTile.X);
+
+        assertThat(search.getCompletedDepth()).isEqualTo(1);
+        assertThat(search.getBestScore()).isGreaterThan(AlphaBetaSearch.WIN_SCORE - 1024);
+    }
+
+    private void placeAll(GridBoard board, BoardTile boardTile, int... tiles) {
+        for (int tile : tiles) {
+            board.place(tile, boardTile);
+        }
+    }
+}
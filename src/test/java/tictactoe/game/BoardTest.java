@@ -0,0 +1,105 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardTest {
+
+    @Test
+    void fromRows_MixedTiles_MasksMatchRows() {
+        Board board = Board.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("x", "o", ""),
+                Arrays.asList("", "x", ""),
+                Arrays.asList("o", "", "")
+        ));//@formatter:on
+
+        assertThat(board.getMask(BoardTile.X)).isEqualTo(0b000_010_001);
+        assertThat(board.getMask(BoardTile.O)).isEqualTo(0b001_000_010);
+        assertThat(board.getEmptyMask()).isEqualTo(0b110_101_100);
+        assertThat(board.getTile(Board.CENTER)).isEqualTo(BoardTile.X);
+        assertThat(board.isEmpty(2)).isTrue();
+    }
+
+    @Test
+    void toRows_AfterPlace_RoundTripsThroughRows() {
+        Board board = new Board();
+        board.place(Board.indexOf(0, 2), BoardTile.X);
+        board.place(Board.indexOf(2, 1), BoardTile.O);
+
+        List<List<String>> rows = board.toRows();
+
+        assertThat(rows.get(0)).containsExactly("", "", "x");
+        assertThat(rows.get(1)).containsExactly("", "", "");
+        assertThat(rows.get(2)).containsExactly("", "o", "");
+        assertThat(Board.fromRows(rows).getMask(BoardTile.X)).isEqualTo(board.getMask(BoardTile.X));
+    }
+
+    @Test
+    void getWinner_EachLineCompleted_ReturnsOwner() {
+        for (int line : Board.LINES) {
+            assertThat(new Board(line, 0).getWinner()).isEqualTo(BoardTile.X);
+            assertThat(new Board(0, line).getWinner()).isEqualTo(BoardTile.O);
+        }
+    }
+
+    @Test
+    void getWinner_FullBoardNoLine_EmptyAndFull() {
+        Board board = Board.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("o", "x", "x"),
+                Arrays.asList("x", "o", "o"),
+                Arrays.asList("o", "x", "x")
+        ));//@formatter:on
+
+        assertThat(board.getWinner()).isEqualTo(BoardTile.EMPTY);
+        assertThat(board.isFull()).isTrue();
+    }
+
+    @Test
+    void tileId_EveryIndex_RowColumnFormat() {
+        assertThat(Board.tileId(0)).isEqualTo("0-0");
+        assertThat(Board.tileId(5)).isEqualTo("1-2");
+        assertThat(Board.tileId(8)).isEqualTo("2-2");
+    }
+
+    @Test
+    void isWinningMove_TileOnCompleteLine_True() {
+        Board board = new Board(0b100_010_001, 0b000_001_110);
+
+        assertThat(board.isWinningMove(4)).isTrue();
+        assertThat(board.isWinningMove(1)).isFalse();
+        assertThat(board.isWinningMove(5)).isFalse();
+    }
+
+    @Test
+    void tables_CenterAndCorners_LinesAndOppositeCorners() {
+        assertThat(Board.TILE_LINES[Board.CENTER]).hasSize(4);
+        assertThat(Board.TILE_LINES[1]).hasSize(2);
+        assertThat(Board.TILE_LINES[0]).hasSize(3);
+        assertThat(Board.OPPOSITE_CORNERS[0]).isEqualTo(8);
+        assertThat(Board.OPPOSITE_CORNERS[6]).isEqualTo(2);
+        assertThat(Board.OPPOSITE_CORNERS[Board.CENTER]).isEqualTo(Board.NO_TILE);
+    }
+
+    @Test
+    void clear_PlacedTile_BoardAsBefore() {
+        Board board = new Board(0b000_000_001, 0b000_010_000);
+
+        board.place(8, BoardTile.X);
+        board.clear(8);
+
+        assertThat(board.getPositionKey()).isEqualTo(new Board(0b000_000_001, 0b000_010_000).getPositionKey());
+    }
+
+    @Test
+    void countThreats_TwoOpenLines_Two() {
+        Board board = new Board(0b000_000_011, 0b000_000_000);
+        board.place(6, BoardTile.X);
+
+        assertThat(board.countThreats(BoardTile.X)).isEqualTo(2);
+        assertThat(board.countThreats(BoardTile.O)).isZero();
+    }
+}
@@ -49,4 +49,50 @@ class BoardUtilTest {
                 )
                 .hasSize(8);
     }
+
+    @Test
+    void isWinningMove_MiddleOfDiagonal_True() {
+        List<List<String>> rows = Arrays.asList(//@formatter:off
+                Arrays.asList("x", "", "", ""),
+                Arrays.asList("", "x", "", ""),
+                Arrays.asList("", "", "x", ""),
+                Arrays.asList("o", "o", "", "")
+        );//@formatter:on
+
+        assertThat(BoardUtil.isWinningMove(rows, 1, 1, 3)).isTrue();
+        assertThat(BoardUtil.isWinningMove(rows, 1, 1, 4)).isFalse();
+    }
+
+    @Test
+    void isWinningMove_RunBrokenByOpponent_False() {
+        List<List<String>> rows = Arrays.asList(//@formatter:off
+                Arrays.asList("", "", "", ""),
+                Arrays.asList("x", "x", "o", "x"),
+                Arrays.asList("", "", "", "")
+        );//@formatter:on
+
+        assertThat(BoardUtil.isWinningMove(rows, 1, 1, 3)).isFalse();
+    }
+
+    @Test
+    void isWinningMove_AntiDiagonalToEdge_True() {
+        List<List<String>> rows = Arrays.asList(//@formatter:off
+                Arrays.asList("", "", "o"),
+                Arrays.asList("", "o", ""),
+                Arrays.asList("o", "x", "x")
+        );//@formatter:on
+
+        assertThat(BoardUtil.isWinningMove(rows, 2, 0, 3)).isTrue();
+        assertThat(BoardUtil.isWinningMove(rows, 2, 2, 3)).isFalse();
+    }
+
+    @Test
+    void countPlacedTiles_PartlyFilled_CountsNonEmpty() {
+        List<List<String>> rows = Arrays.asList(//@formatter:off
+                Arrays.asList("x", "", "o"),
+                Arrays.asList("", "x", "")
+        );//@formatter:on
+
+        assertThat(BoardUtil.countPlacedTiles(rows)).isEqualTo(3);
+    }
 }
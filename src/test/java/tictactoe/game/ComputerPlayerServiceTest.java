@@ -1,5 +1,6 @@
 package tictactoe.game;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,9 +12,11 @@ import tictactoe.game.entity.Game.PlayerNumber;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -31,7 +34,7 @@ class ComputerPlayerServiceTest {
     @BeforeEach
     void setUp() {
         computerPlayerService = new ComputerPlayerService(gameService);
-        when(game.getRows()).thenReturn(board(
+        lenient().when(game.getRows()).thenReturn(board(
                 row("", "", ""),
                 row("", "", ""),
                 row("", "", "")
@@ -167,6 +170,100 @@ class ComputerPlayerServiceTest {
         assertThat(tileId.isEmpty());
     }
 
+    @Test
+    void takeTurn_LargerBoardWithNodeBudget_RecordsBudgetAndDepth() {
+        givenPlayerOneTurn();
+        givenPlayerOneTile(BoardTile.X);
+        when(game.getRows()).thenReturn(Arrays.asList(
+                Arrays.asList("x", "", "", ""),
+                Arrays.asList("", "o", "", ""),
+                Arrays.asList("", "", "", ""),
+                Arrays.asList("", "", "", "")
+        ));
+        MoveBudget budget = MoveBudget.ofNodes(5_000);
+
+        Optional<ComputerMove> move = computerPlayerService.takeTurn(game, budget);
+
+        assertThat(move).isPresent();
+        assertThat(move.get().getBudget()).isSameAs(budget);
+        assertThat(move.get().getDepthReached()).isPositive();
+        assertThat(move.get().getNodes()).isLessThanOrEqualTo(5_000);
+        verify(gameService).takeTurn(game, move.get().getTile());
+    }
+
+    @Test
+    void takeTurn_MctsEngine_TakesWin() {
+        givenPlayerOneTurn();
+        givenPlayerOneTile(BoardTile.X);
+        when(game.getComputerEngine()).thenReturn(Game.ComputerEngine.MCTS);
+        when(game.getRows()).thenReturn(board(
+                row("x", "x", ""),
+                row("o", "o", ""),
+                row("", "", "")
+        ));
+
+        Optional<ComputerMove> move = computerPlayerService.takeTurn(game, MoveBudget.ofNodes(5_000));
+
+        assertThat(move).map(ComputerMove::getTileId).contains("0-2");
+        assertThat(move).map(ComputerMove::getRule).contains(DecisionRule.SEARCH);
+        verify(gameService).takeTurn(game, 2);
+    }
+
+    @Test
+    void takeTurn_BlockOnClassicBoard_CountedUnderBlockRule() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        computerPlayerService = new ComputerPlayerService(gameService, new ComputerPlayerProperties(), registry);
+        givenPlayerOneTurn();
+        givenPlayerOneTile(BoardTile.X);
+        when(game.getRows()).thenReturn(board(
+                row("o", "o", ""),
+                row("x", "", ""),
+                row("", "", "")
+        ));
+
+        Optional<ComputerMove> move = computerPlayerService.takeTurn(game);
+
+        assertThat(move).map(ComputerMove::getRule).contains(DecisionRule.BLOCK);
+        Map<DecisionRule, ComputerRulesEndpoint.RuleStatistics> rules = new ComputerRulesEndpoint(registry).rules();
+        assertThat(rules).containsOnlyKeys(DecisionRule.values());
+        assertThat(rules.get(DecisionRule.BLOCK).getHits()).isEqualTo(1);
+        assertThat(rules.get(DecisionRule.BLOCK).getTotalNanos()).isEqualTo(move.get().getElapsedNanos());
+        assertThat(rules.get(DecisionRule.WIN).getHits()).isZero();
+    }
+
+    @Test
+    void takeTurn_LargerBoardSearched_TranspositionLookupsCounted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        computerPlayerService = new ComputerPlayerService(gameService, new ComputerPlayerProperties(), registry);
+        givenPlayerOneTurn();
+        givenPlayerOneTile(BoardTile.X);
+        when(game.getRows()).thenReturn(Arrays.asList(
+                Arrays.asList("x", "", "", ""),
+                Arrays.asList("", "o", "", ""),
+                Arrays.asList("", "", "", ""),
+                Arrays.asList("", "", "", "")
+        ));
+
+        computerPlayerService.takeTurn(game, MoveBudget.ofNodes(5_000));
+
+        String lookups = "tictactoe.computer.transposition";
+        double hits = registry.get(lookups).tag("result", "hit").functionCounter().count();
+        double misses = registry.get(lookups).tag("result", "miss").functionCounter().count();
+        TranspositionTable table = computerPlayerService.getTranspositionTable();
+        assertThat(hits + misses).isPositive();
+        assertThat(hits).isEqualTo(table.getHits());
+        assertThat(misses).isEqualTo(table.getMisses());
+    }
+
+    @Test
+    void computerPlayer_TreeTooSmallForLargestBoard_NotMade() {
+        ComputerPlayerProperties properties = new ComputerPlayerProperties();
+        properties.setMctsTreeNodes(GameService.MAX_SIZE * GameService.MAX_SIZE);
+
+        assertThatThrownBy(() -> new ComputerPlayerService(gameService, properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private void givenPlayerOneTurn() {
         when(game.getNextMove()).thenReturn(PlayerNumber.PLAYER_1);
     }
@@ -176,12 +273,12 @@ class ComputerPlayerServiceTest {
     }
 
     private void assertComputerPlays(String expectedTileId) {
-        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Integer> captor = ArgumentCaptor.forClass(Integer.class);
 
         computerPlayerService.takeTurn(game);
 
         verify(gameService).takeTurn(any(), captor.capture());
-        assertThat(captor.getValue()).isEqualTo(expectedTileId);
+        assertThat(Board.tileId(captor.getValue())).isEqualTo(expectedTileId);
     }
 
     private List<String> row(String a, String b, String c) {
@@ -0,0 +1,177 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.GameState;
+import tictactoe.game.entity.Game.PlayerNumber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks every 3x3 position either player can reach and checks that from each one the computer can still draw or
+ * win, its move keeps it so. Wherever the rules leave the move to the random fallback, every empty tile is checked.
+ *
+ * Positions are compared with a perfect player's result for them, worked out once per position. The walk forks a
+ * task per move on a {@link ForkJoinPool} and skips positions already seen. Rotations and reflections of a position are
+ * each verified, as the rules break ties by tile order.
+ */
+class ComputerPlayerVerificationTest {
+
+    /**
+     * Positions of tic tac toe, from the empty board to every finished game.
+     */
+    private static final int REACHABLE_POSITIONS = 5478;
+
+    private static final byte UNSOLVED = 2;
+
+    /**
+     * Result with perfect play for the player to move, by {@link Board#getPositionKey()}: 1 win, 0 draw, -1 loss.
+     */
+    private final byte[] values = new byte[Board.POSITION_COUNT];
+
+    private final Set<Integer> visited = ConcurrentHashMap.newKeySet();
+
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    private ComputerPlayerService computerPlayerService;
+
+    @BeforeEach
+    void setUp() {
+        Arrays.fill(values, UNSOLVED);
+
+        GameService moveNotPlayed = new GameService(null) {
+            @Override
+            public void takeTurn(Game game, int tile) {
+                // the verifier plays the move on its own board
+            }
+        };
+        ComputerPlayerProperties properties = new ComputerPlayerProperties();
+        properties.setRandomFallback(false);
+        computerPlayerService = new ComputerPlayerService(moveNotPlayed, properties);
+    }
+
+    @Test
+    void takeTurn_EveryReachablePosition_NeverLosesADrawOrWin() {
+        ForkJoinPool.commonPool().invoke(new VerifyTask(0, 0));
+
+        assertThat(failures).isEmpty();
+        assertThat(visited).hasSize(REACHABLE_POSITIONS);
+    }
+
+    private final class VerifyTask extends RecursiveAction {
+
+        private final int xMask;
+        private final int oMask;
+
+        private VerifyTask(int xMask, int oMask) {
+            this.xMask = xMask;
+            this.oMask = oMask;
+        }
+
+        @Override
+        protected void compute() {
+            Board board = new Board(xMask, oMask);
+            if (!visited.add(board.getPositionKey()) || board.getWinner() != BoardTile.EMPTY || board.isFull()) {
+                return;
+            }
+
+            BoardTile mover = Integer.bitCount(xMask) == Integer.bitCount(oMask) ? BoardTile.X : BoardTile.O;
+            verifyComputerMove(board, mover);
+
+            List<VerifyTask> replies = new ArrayList<>();
+            for (int tile = 0; tile < Board.TILE_COUNT; tile++) {
+                if (board.isEmpty(tile)) {
+                    board.place(tile, mover);
+                    replies.add(new VerifyTask(board.getMask(BoardTile.X), board.getMask(BoardTile.O)));
+                    board.clear(tile);
+                }
+            }
+            invokeAll(replies);
+        }
+    }
+
+    private void verifyComputerMove(Board board, BoardTile mover) {
+        if (solve(board, mover) < 0) {
+            return;
+        }
+
+        Game game = new Game();
+        game.setRows(board.toRows());
+        game.setState(GameState.IN_PROGRESS);
+        game.setNextMove(mover == BoardTile.X ? PlayerNumber.PLAYER_1 : PlayerNumber.PLAYER_2);
+
+        Optional<ComputerMove> move = computerPlayerService.takeTurn(game);
+        if (move.isEmpty()) {
+            failures.add("no move for " + mover + " in " + board.toRows());
+            return;
+        }
+        verifyMoveKeepsDrawOrWin(board, mover, move.get().getTile());
+
+        if (ComputerPlayerService.chooseRuleTile(board, mover) == Board.NO_TILE) {
+            for (int tile = 0; tile < Board.TILE_COUNT; tile++) {
+                if (board.isEmpty(tile)) {
+                    verifyMoveKeepsDrawOrWin(board, mover, tile);
+                }
+            }
+        }
+    }
+
+    private void verifyMoveKeepsDrawOrWin(Board board, BoardTile mover, int tile) {
+        Board afterMove = new Board(board.getMask(BoardTile.X), board.getMask(BoardTile.O));
+        if (afterMove.isOccupied(tile)) {
+            failures.add(mover + " played on taken tile " + Board.tileId(tile) + " in " + board.toRows());
+        } else if (playValue(afterMove, mover, tile) < 0) {
+            failures.add(mover + " lost a draw or win with " + Board.tileId(tile) + " in " + board.toRows());
+        }
+    }
+
+    /**
+     * @return the mover's result with perfect play after they take the tile, which is undone again.
+     */
+    private int playValue(Board board, BoardTile mover, int tile) {
+        board.place(tile, mover);
+        int value;
+        if (board.isWinningMove(tile)) {
+            value = 1;
+        } else if (board.isFull()) {
+            value = 0;
+        } else {
+            value = -solve(board, mover == BoardTile.X ? BoardTile.O : BoardTile.X);
+        }
+        board.clear(tile);
+        return value;
+    }
+
+    /**
+     * Negamax over the position, memoized in {@link #values}. Threads may solve the same position at once, and store
+     * the same value.
+     */
+    private int solve(Board board, BoardTile mover) {
+        int positionKey = board.getPositionKey();
+        if (values[positionKey] != UNSOLVED) {
+            return values[positionKey];
+        }
+
+        int best = -1;
+        for (int tile = 0; tile < Board.TILE_COUNT && best < 1; tile++) {
+            if (board.isEmpty(tile)) {
+                best = Math.max(best, playValue(board, mover, tile));
+            }
+        }
+
+        values[positionKey] = (byte) best;
+        return best;
+    }
+}
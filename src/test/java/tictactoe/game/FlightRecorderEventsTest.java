@@ -0,0 +1,99 @@
+package tictactoe.game;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.entity.AppUser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRecorderEventsTest {
+
+    private static final String[] EVENT_NAMES = {
+            "tictactoe.GameCreated", "tictactoe.MoveApplied", "tictactoe.GamePersisted", "tictactoe.ComputerMoveChosen"
+    };
+
+    @TempDir
+    Path recordingDirectory;
+
+    @Mock
+    private GameRepository mockRepository;
+
+    private GameService gameService;
+
+    private ComputerPlayerService computerPlayerService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(mockRepository);
+        computerPlayerService = new ComputerPlayerService(gameService);
+    }
+
+    @Test
+    void takeTurn_HumanThenComputer_EventPerStage() throws IOException {
+        List<RecordedEvent> events;
+        Optional<ComputerMove> computerMove;
+        try (Recording recording = new Recording()) {
+            for (String eventName : EVENT_NAMES) {
+                recording.enable(eventName);
+            }
+            recording.start();
+
+            Game game = gameService.create(new AppUser(), true);
+            game.setId(42L);
+            gameService.takeTurn(game, Board.CENTER);
+            computerMove = computerPlayerService.takeTurn(game);
+
+            recording.stop();
+            Path file = recordingDirectory.resolve("turns.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        assertThat(events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toList()))
+                .containsExactlyInAnyOrder(
+                        "tictactoe.GameCreated", "tictactoe.GamePersisted",
+                        "tictactoe.MoveApplied", "tictactoe.GamePersisted",
+                        "tictactoe.ComputerMoveChosen", "tictactoe.MoveApplied", "tictactoe.GamePersisted"
+                );
+
+        RecordedEvent created = only(events, "tictactoe.GameCreated");
+        assertThat(created.getLong("gameId")).isZero();
+        assertThat(created.getInt("rowCount")).isEqualTo(3);
+        assertThat(created.getString("computerEngine")).isEqualTo("ALPHA_BETA");
+
+        RecordedEvent chosen = only(events, "tictactoe.ComputerMoveChosen");
+        assertThat(computerMove).isPresent();
+        assertThat(chosen.getLong("gameId")).isEqualTo(42);
+        assertThat(chosen.getString("rule")).isEqualTo(computerMove.get().getRule().name());
+        assertThat(chosen.getInt("tile")).isEqualTo(computerMove.get().getTile());
+        assertThat(chosen.getLong("nodes")).isZero();
+
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("tictactoe.MoveApplied"))
+                .extracting(event -> event.getInt("moveCount"))
+                .containsExactlyInAnyOrder(1, 2);
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String eventName) {
+        List<RecordedEvent> named = events.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+        assertThat(named).hasSize(1);
+        return named.get(0);
+    }
+}
@@ -0,0 +1,100 @@
+package tictactoe.game;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the priority rules, fork analysis included, and the {@link GridBoard} make and unmake used by the
+ * search allocate nothing. The bytes allocated by the test thread are read with {@link ThreadMXBean}, less what
+ * reading them costs.
+ */
+class ForkAnalysisAllocationTest {
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Board[] boards = new Board[Board.POSITION_COUNT];
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "thread allocation tracking is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int positionKey = 0; positionKey < Board.POSITION_COUNT; positionKey++) {
+            boards[positionKey] = Board.fromPositionKey(positionKey);
+        }
+    }
+
+    @Test
+    void chooseRuleTile_EveryPosition_AllocatesNothing() {
+        chooseEveryRuleTile(); // warm up, so class loading is not counted
+
+        long measuringCost = measuringCost();
+        long before = allocatedBytes();
+        int checksum = chooseEveryRuleTile();
+        long allocated = allocatedBytes() - before - measuringCost;
+
+        assertThat(checksum).isNotZero();
+        assertThat(allocated).isZero();
+    }
+
+    @Test
+    void placeAndClear_EveryTile_AllocatesNothing() {
+        GridBoard board = new GridBoard(BoardGeometry.of(15, 15, 5));
+        placeAndClearEveryTile(board);
+
+        long measuringCost = measuringCost();
+        long before = allocatedBytes();
+        int wins = placeAndClearEveryTile(board);
+        long allocated = allocatedBytes() - before - measuringCost;
+
+        assertThat(wins).isZero();
+        assertThat(board.getMoveCount()).isZero();
+        assertThat(allocated).isZero();
+    }
+
+    private int chooseEveryRuleTile() {
+        int checksum = 0;
+        for (Board board : boards) {
+            checksum += ComputerPlayerService.chooseRuleTile(board, BoardTile.X);
+            checksum += ComputerPlayerService.chooseRuleTile(board, BoardTile.O);
+        }
+        return checksum;
+    }
+
+    private static int placeAndClearEveryTile(GridBoard board) {
+        int wins = 0;
+        int tileCount = board.getGeometry().tileCount;
+        for (int tile = 0; tile < tileCount; tile++) {
+            board.place(tile, BoardTile.X);
+            board.place((tile + 1) % tileCount, BoardTile.O);
+            if (board.isWinningMove(tile)) {
+                wins++;
+            }
+            board.clear((tile + 1) % tileCount);
+            board.clear(tile);
+        }
+        return wins;
+    }
+
+    /**
+     * Reading the counter may itself allocate, e.g. the id array it is looked up with.
+     */
+    private long measuringCost() {
+        long cost = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 5; attempt++) {
+            long before = allocatedBytes();
+            cost = Math.min(cost, allocatedBytes() - before);
+        }
+        return cost;
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,196 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.GameState;
+import tictactoe.game.entity.Game.PlayerNumber;
+import tictactoe.game.entity.GameMove;
+import tictactoe.game.entity.GameMoveRepository;
+import tictactoe.game.entity.GameRepository;
+import tictactoe.user.AppUserCache;
+import tictactoe.user.entity.AppUser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameEventStoreTest {
+
+    private static final int SNAPSHOT_INTERVAL = 4;
+
+    @Mock
+    private GameRepository mockGameRepository;
+
+    @Mock
+    private GameMoveRepository mockMoveRepository;
+
+    @Mock
+    private AppUserCache mockAppUserCache;
+
+    private GameEventStore store;
+
+    @BeforeEach
+    public void setUp() {
+        GameHistoryProperties properties = new GameHistoryProperties();
+        properties.setSnapshotInterval(SNAPSHOT_INTERVAL);
+        store = new GameEventStore(mockGameRepository, mockMoveRepository, mockAppUserCache, properties);
+    }
+
+    @Test
+    void loadLatest_MovesAfterSnapshot_Replayed() {
+        AppUser appUser = new AppUser();
+        Game game = snapshotAfterCenter(appUser);
+        when(mockGameRepository.findFirstByAppUserOrderByIdDesc(appUser)).thenReturn(game);
+        when(mockMoveRepository.findByGameAndMoveNumberGreaterThanOrderByMoveNumber(game, 1))
+                .thenReturn(Arrays.asList(new GameMove(game, 2, 0), new GameMove(game, 3, 8)));
+
+        Game loaded = store.loadLatest(appUser);
+
+        assertThat(loaded.getMoveCount()).isEqualTo(3);
+        assertThat(loaded.getNextMove()).isEqualTo(PlayerNumber.PLAYER_2);
+        assertThat(loaded.getRows()).containsExactly(
+                Arrays.asList("o", "", ""),
+                Arrays.asList("", "x", ""),
+                Arrays.asList("", "", "x")
+        );
+    }
+
+    @Test
+    void loadLatest_GapInMoves_ReplayStopsAtGap() {
+        AppUser appUser = new AppUser();
+        Game game = snapshotAfterCenter(appUser);
+        when(mockGameRepository.findFirstByAppUserOrderByIdDesc(appUser)).thenReturn(game);
+        when(mockMoveRepository.findByGameAndMoveNumberGreaterThanOrderByMoveNumber(game, 1))
+                .thenReturn(Arrays.asList(new GameMove(game, 2, 0), new GameMove(game, 4, 8)));
+
+        Game loaded = store.loadLatest(appUser);
+
+        assertThat(loaded.getMoveCount()).isEqualTo(2);
+        assertThat(loaded.getRows().get(2)).containsOnly("");
+    }
+
+    @Test
+    void loadLatest_CurrentGameId_LoadedByIdWithGivenUser() {
+        AppUser appUser = new AppUser();
+        appUser.setCurrentGameId(7L);
+        Game game = snapshotAfterCenter(new AppUser());
+        when(mockGameRepository.findById(7L)).thenReturn(Optional.of(game));
+
+        Game loaded = store.loadLatest(appUser);
+
+        assertThat(loaded).isSameAs(game);
+        assertThat(loaded.getAppUser()).isSameAs(appUser);
+        verify(mockGameRepository, never()).findFirstByAppUserOrderByIdDesc(any());
+    }
+
+    @Test
+    void loadLatest_CurrentGameGone_LatestLookedUp() {
+        AppUser appUser = new AppUser();
+        appUser.setCurrentGameId(7L);
+        Game game = snapshotAfterCenter(appUser);
+        when(mockGameRepository.findById(7L)).thenReturn(Optional.empty());
+        when(mockGameRepository.findFirstByAppUserOrderByIdDesc(appUser)).thenReturn(game);
+
+        Game loaded = store.loadLatest(appUser);
+
+        assertThat(loaded).isSameAs(game);
+    }
+
+    @Test
+    void create_NewGame_UserPointedToIt() {
+        AppUser appUser = new AppUser();
+        appUser.setId(3L);
+        Game game = new Game();
+        game.setAppUser(appUser);
+        when(mockGameRepository.save(game)).then(invocation -> {
+            game.setId(7L);
+            return game;
+        });
+
+        store.create(game);
+
+        verify(mockAppUserCache).updateCurrentGameId(3L, 7L);
+        assertThat(appUser.getCurrentGameId()).isEqualTo(7L);
+    }
+
+    @Test
+    void create_NoUserRepository_OnlyGameSaved() {
+        store = new GameEventStore(mockGameRepository);
+        AppUser appUser = new AppUser();
+        Game game = new Game();
+        game.setAppUser(appUser);
+
+        store.create(game);
+
+        verify(mockGameRepository).save(game);
+        verifyNoInteractions(mockAppUserCache);
+        assertThat(appUser.getCurrentGameId()).isNull();
+    }
+
+    @Test
+    void append_BeforeSnapshotInterval_OnlyMovesSaved() {
+        Game game = snapshotAfterCenter(new AppUser());
+
+        store.append(game, 2, 0, 8);
+
+        verify(mockMoveRepository).saveAll(any());
+        verify(mockGameRepository, never()).save(any());
+    }
+
+    @Test
+    void append_ReachesSnapshotInterval_GameSaved() {
+        Game game = snapshotAfterCenter(new AppUser());
+
+        store.append(game, 3, 0, 8);
+
+        verify(mockMoveRepository).saveAll(any());
+        verify(mockGameRepository).save(game);
+    }
+
+    @Test
+    void append_GameOver_GameSaved() {
+        Game game = snapshotAfterCenter(new AppUser());
+        game.setState(GameState.PLAYER_1_WIN);
+
+        store.append(game, 2, 0);
+
+        verify(mockGameRepository).save(game);
+    }
+
+    @Test
+    void append_NoMoveLog_GameSavedEveryMove() {
+        store = new GameEventStore(mockGameRepository);
+        Game game = snapshotAfterCenter(new AppUser());
+
+        store.append(game, 2, 0);
+
+        verify(mockGameRepository).save(game);
+    }
+
+    /**
+     * @return a 3x3 game saved after its first move, "x" on the center tile.
+     */
+    private static Game snapshotAfterCenter(AppUser appUser) {
+        Game game = new Game();
+        game.setAppUser(appUser);
+        game.setState(GameState.IN_PROGRESS);
+        game.setNextMove(PlayerNumber.PLAYER_2);
+        List<List<String>> rows = BoardUtil.createEmpty();
+        rows.get(1).set(1, "x");
+        game.setRows(rows);
+        game.setMoveCount(1);
+        return game;
+    }
+}
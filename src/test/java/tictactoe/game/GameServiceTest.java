@@ -1,11 +1,13 @@
 package tictactoe.game;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import tictactoe.game.entity.Game;
+import tictactoe.game.entity.Game.ComputerEngine;
 import tictactoe.game.entity.Game.GameState;
 import tictactoe.game.entity.Game.PlayerNumber;
 import tictactoe.game.entity.Game.PlayerType;
@@ -14,10 +16,15 @@ import tictactoe.user.entity.AppUser;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
@@ -46,8 +53,8 @@ class GameServiceTest {
         assertThat(game.getPlayer2Type()).isEqualTo(PlayerType.COMPUTER);
         assertThat(game.getRows()).isEqualTo(BoardUtil.createEmpty());
 
-        verify(mockRepository).deleteUserGames(appUser);
-        verify(mockRepository).save(any());
+        verify(mockRepository).save(game);
+        verifyNoMoreInteractions(mockRepository);
     }
 
     @Test
@@ -64,8 +71,26 @@ class GameServiceTest {
         assertThat(game.getPlayer2Type()).isEqualTo(PlayerType.HUMAN);
         assertThat(game.getRows()).isEqualTo(BoardUtil.createEmpty());
 
-        verify(mockRepository).deleteUserGames(appUser);
-        verify(mockRepository).save(any());
+        verify(mockRepository).save(game);
+        verifyNoMoreInteractions(mockRepository);
+    }
+
+    @Test
+    void createComputerFirst_Classic_CenterPlacedSavedOnce() {
+        Game game = service.createComputerFirst(new AppUser(), BoardVariant.CLASSIC, ComputerEngine.ALPHA_BETA);
+
+        assertThat(game.getPlayer1Type()).isEqualTo(PlayerType.COMPUTER);
+        assertThat(game.getNextMove()).isEqualTo(PlayerNumber.PLAYER_2);
+        assertThat(game.getMoveCount()).isEqualTo(1);
+        assertRows(
+                game,
+                "", "", "",
+                "", "x", "",
+                "", "", ""
+        );
+
+        verify(mockRepository).save(game);
+        verifyNoMoreInteractions(mockRepository);
     }
 
     @Test
@@ -102,6 +127,52 @@ class GameServiceTest {
         );
     }
 
+    @Test
+    void takeTurn_LoadedGame_MoveCountFromRowsThenKept() {
+        Game game = service.create(new AppUser(), true);
+        game.getRows().set(0, Arrays.asList("x", "o", ""));
+
+        service.takeTurn(game, "1-1");
+        assertThat(game.getMoveCount()).isEqualTo(3);
+
+        service.takeTurn(game, "2-2");
+        assertThat(game.getMoveCount()).isEqualTo(4);
+    }
+
+    @Test
+    void parseTileId_RowAndColumn_TileIndex() {
+        Game game = service.create(new AppUser(), true, BoardVariant.FOUR_IN_A_ROW);
+
+        assertThat(service.parseTileId(game, "0-0")).isEqualTo(0);
+        assertThat(service.parseTileId(game, "2-3")).isEqualTo(13);
+        assertThat(service.parseTileId(game, "4-4")).isEqualTo(24);
+    }
+
+    @Test
+    void parseTileId_MalformedOrOffBoard_NoTile() {
+        Game game = service.create(new AppUser(), true);
+
+        assertThat(service.parseTileId(game, "invalid")).isEqualTo(GameService.NO_TILE);
+        assertThat(service.parseTileId(game, "1-")).isEqualTo(GameService.NO_TILE);
+        assertThat(service.parseTileId(game, "-1-1")).isEqualTo(GameService.NO_TILE);
+        assertThat(service.parseTileId(game, "1-1-1")).isEqualTo(GameService.NO_TILE);
+        assertThat(service.parseTileId(game, "3-0")).isEqualTo(GameService.NO_TILE);
+    }
+
+    @Test
+    void takeTurn_TileIndex_PlacesOnRowAndColumn() {
+        Game game = service.create(new AppUser(), true);
+
+        service.takeTurn(game, 5);
+
+        assertRows(
+                game,
+                "", "", "",
+                "", "", "x",
+                "", "", ""
+        );
+    }
+
     @Test
     void takeTurn_InvalidTileId_DoesNothing() {
         Game game = service.create(new AppUser(), true);
@@ -167,6 +238,35 @@ class GameServiceTest {
         assertThat(game.getState()).isEqualTo(GameState.PLAYER_2_WIN);
     }
 
+    @Test
+    void takeTurn_Player1Wins_CountedAndTimed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new GameService(mockRepository, registry);
+        Game game = service.create(new AppUser(), true);
+        game.getRows().set(0, Arrays.asList("x", "x", ""));
+        game.getRows().set(1, Arrays.asList("o", "o", ""));
+
+        service.takeTurn(game, "0-2");
+
+        assertThat(registry.get("tictactoe.games.finished").tag("state", "PLAYER_1_WIN").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("tictactoe.games.finished").tag("state", "DRAW").counter().count()).isZero();
+        assertThat(registry.get("tictactoe.game.turn").timer().count()).isEqualTo(1);
+        assertThat(registry.get("tictactoe.game.create").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void gamesInProgress_ScrapedTwice_CountedOnce() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new GameService(mockRepository, registry);
+        when(mockRepository.countLatestByState(GameState.IN_PROGRESS)).thenReturn(3L);
+
+        assertThat(registry.get("tictactoe.games.in.progress").gauge().value()).isEqualTo(3);
+        assertThat(registry.get("tictactoe.games.in.progress").gauge().value()).isEqualTo(3);
+
+        verify(mockRepository).countLatestByState(GameState.IN_PROGRESS);
+    }
+
     @Test
     void takeTurn_NoWinners_GameOverDraw() {
         Game game = service.create(new AppUser(), true);
@@ -180,6 +280,106 @@ class GameServiceTest {
         assertThat(game.getState()).isEqualTo(GameState.DRAW);
     }
 
+    @Test
+    void takeTurns_HumanThenComputer_BothPlacedSavedOnce() {
+        Game game = service.create(new AppUser(), true);
+
+        Optional<ComputerMove> reply = service.takeTurns(game, 4, current -> Optional.of(cornerMove(0)));
+
+        assertThat(reply).isPresent();
+        assertThat(game.getNextMove()).isEqualTo(PlayerNumber.PLAYER_1);
+        assertThat(game.getMoveCount()).isEqualTo(2);
+        assertRows(
+                game,
+                "o", "", "",
+                "", "x", "",
+                "", "", ""
+        );
+        verify(mockRepository, times(2)).save(game);
+    }
+
+    @Test
+    void takeTurns_OccupiedTile_NoComputerMoveNothingSaved() {
+        Game game = service.create(new AppUser(), true);
+        game.getRows().get(1).set(1, "o");
+
+        Optional<ComputerMove> reply = service.takeTurns(game, 4, current -> Optional.of(cornerMove(0)));
+
+        assertThat(reply).isEmpty();
+        assertThat(game.getNextMove()).isEqualTo(PlayerNumber.PLAYER_1);
+        verify(mockRepository).save(game);
+    }
+
+    @Test
+    void takeTurns_ComputerToMove_NothingPlaced() {
+        Game game = service.create(new AppUser(), false);
+
+        Optional<ComputerMove> reply = service.takeTurns(game, 4, current -> Optional.of(cornerMove(0)));
+
+        assertThat(reply).isEmpty();
+        assertThat(game.getRows()).isEqualTo(BoardUtil.createEmpty());
+    }
+
+    @Test
+    void takeTurns_HumanWins_ComputerNotAsked() {
+        Game game = service.create(new AppUser(), true);
+        game.getRows().set(0, Arrays.asList("x", "x", ""));
+        game.getRows().set(1, Arrays.asList("o", "o", ""));
+
+        Optional<ComputerMove> reply = service.takeTurns(game, 2, current -> {
+            throw new AssertionError("Computer asked to move in a finished game");
+        });
+
+        assertThat(reply).isEmpty();
+        assertThat(game.getState()).isEqualTo(GameState.PLAYER_1_WIN);
+        verify(mockRepository, times(2)).save(game);
+    }
+
+    @Test
+    void create_FourInARowVariant_Empty5x5Board() {
+        Game game = service.create(new AppUser(), true, BoardVariant.FOUR_IN_A_ROW);
+
+        assertThat(game.getRows()).hasSize(5).allSatisfy(row -> assertThat(row).hasSize(5).containsOnly(""));
+        assertThat(game.getWinLength()).isEqualTo(4);
+        assertThat(service.getCenterTileId(game)).isEqualTo("2-2");
+    }
+
+    @Test
+    void create_MctsEngine_GameUsesMcts() {
+        Game game = service.create(new AppUser(), true, BoardVariant.CLASSIC, ComputerEngine.MCTS);
+
+        assertThat(game.getComputerEngine()).isEqualTo(ComputerEngine.MCTS);
+    }
+
+    @Test
+    void create_WinLongerThanBoard_ThrowException() {
+        assertThatThrownBy(() -> service.create(new AppUser(), true, 4, 4, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void takeTurn_FourInARowOnLargerBoard_GameOverPlayer1Win() {
+        Game game = service.create(new AppUser(), true, BoardVariant.FOUR_IN_A_ROW);
+        game.getRows().set(1, Arrays.asList("", "x", "x", "x", ""));
+        game.getRows().set(2, Arrays.asList("", "o", "o", "o", ""));
+
+        service.takeTurn(game, "1-4");
+
+        assertThat(game.getNextMove()).isNull();
+        assertThat(game.getState()).isEqualTo(GameState.PLAYER_1_WIN);
+    }
+
+    @Test
+    void takeTurn_ThreeInARowOnLargerBoard_GameInProgress() {
+        Game game = service.create(new AppUser(), true, BoardVariant.FOUR_IN_A_ROW);
+        game.getRows().set(1, Arrays.asList("", "x", "x", "", ""));
+
+        service.takeTurn(game, "1-3");
+
+        assertThat(game.getNextMove()).isEqualTo(PlayerNumber.PLAYER_2);
+        assertThat(game.getState()).isEqualTo(GameState.IN_PROGRESS);
+    }
+
     /**
      * Helper assert method to verify expected game rows.
      */
@@ -189,4 +389,11 @@ class GameServiceTest {
         assertThat(rows.get(1)).containsExactly(tiles[3], tiles[4], tiles[5]);
         assertThat(rows.get(2)).containsExactly(tiles[6], tiles[7], tiles[8]);
     }
+
+    /**
+     * @return the computer's move on the tile, as the corner rule would choose it.
+     */
+    private static ComputerMove cornerMove(int tile) {
+        return new ComputerMove(tile, 3, DecisionRule.CORNER, MoveBudget.ofNodes(0), 0, 0, 0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GridBoardTest {
+
+    @Test
+    void of_5x5FourInARow_CountsWindows() {
+        BoardGeometry geometry = BoardGeometry.of(5, 5, 4);
+
+        // 10 per direction horizontally and vertically, 4 per diagonal direction
+        assertThat(geometry.windowCount).isEqualTo(28);
+        assertThat(geometry.tileWindows[geometry.centerTile()]).hasSize(8);
+        assertThat(geometry.neighbours[0]).containsExactlyInAnyOrder(1, 5, 6);
+        assertThat(geometry.tileId(geometry.indexOf(3, 4))).isEqualTo("3-4");
+    }
+
+    @Test
+    void isWinningMove_FourOnDiagonal_True() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        for (int i = 1; i < 4; i++) {
+            board.place(geometry.indexOf(i, 4 - i), BoardTile.O);
+        }
+        int lastTile = geometry.indexOf(4, 0);
+
+        board.place(lastTile, BoardTile.O);
+
+        assertThat(board.isWinningMove(lastTile)).isTrue();
+    }
+
+    @Test
+    void isWinningMove_ThreeInARow_False() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        board.place(0, BoardTile.X);
+        board.place(1, BoardTile.X);
+        board.place(2, BoardTile.X);
+        board.place(3, BoardTile.O);
+
+        assertThat(board.isWinningMove(2)).isFalse();
+    }
+
+    @Test
+    void clear_AfterPlace_RestoresBoard() {
+        GridBoard board = new GridBoard(BoardGeometry.of(4, 6, 3));
+
+        board.place(7, BoardTile.X);
+        board.clear(7);
+
+        assertThat(board.getMoveCount()).isZero();
+        assertThat(board.isEmpty(7)).isTrue();
+        assertThat(board.hasOccupiedNeighbour(8)).isFalse();
+        for (int window = 0; window < board.getGeometry().windowCount; window++) {
+            assertThat(board.getCount(window, BoardTile.X)).isZero();
+        }
+    }
+
+    @Test
+    void fromRows_MixedTiles_TilesPlaced() {
+        GridBoard board = GridBoard.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("x", "", "", ""),
+                Arrays.asList("", "o", "", ""),
+                Arrays.asList("", "", "", "x")
+        ), 3);//@formatter:on
+
+        assertThat(board.getMoveCount()).isEqualTo(3);
+        assertThat(board.getTile(0)).isEqualTo(BoardTile.X);
+        assertThat(board.getTile(5)).isEqualTo(BoardTile.O);
+        assertThat(board.getTile(11)).isEqualTo(BoardTile.X);
+        assertThat(board.isFull()).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonteCarloTreeSearchTest {
+
+    @Test
+    void search_CanWin_TakesWin() {
+        GridBoard board = new GridBoard(BoardGeometry.of(3, 3, 3));
+        placeAll(board, BoardTile.X, 0, 1);
+        placeAll(board, BoardTile.O, 3, 4);
+
+        int tile = new MonteCarloTreeSearch(10_000).search(board, BoardTile.X, 5_000, null, 1);
+
+        assertThat(tile).isEqualTo(2);
+        assertThat(board.getMoveCount()).isEqualTo(4);
+    }
+
+    @Test
+    void search_OpponentCanWin_Blocks() {
+        GridBoard board = new GridBoard(BoardGeometry.of(3, 3, 3));
+        placeAll(board, BoardTile.X, 0, 1);
+        placeAll(board, BoardTile.O, 4);
+
+        int tile = new MonteCarloTreeSearch(10_000).search(board, BoardTile.O, 5_000, null, 1);
+
+        assertThat(tile).isEqualTo(2);
+    }
+
+    @Test
+    void search_HelperThreads_SharePlayoutBudget() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+            BoardGeometry geometry = board.getGeometry();
+            placeAll(board, BoardTile.X, geometry.indexOf(2, 0), geometry.indexOf(2, 1), geometry.indexOf(2, 2));
+            placeAll(board, BoardTile.O, geometry.indexOf(0, 0), geometry.indexOf(0, 1), geometry.indexOf(0, 2));
+            MonteCarloTreeSearch search = new MonteCarloTreeSearch(100_000);
+
+            int tile = search.search(board, BoardTile.X, 4_000, executor, 4);
+
+            assertThat(tile).isEqualTo(geometry.indexOf(2, 3));
+            assertThat(search.getPlayouts()).isEqualTo(4_000);
+            assertThat(board.getMoveCount()).isEqualTo(6);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void search_ArenaFull_StillPlaysEmptyTile() {
+        GridBoard board = new GridBoard(BoardGeometry.of(15, 15, 5));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(7, 7));
+        placeAll(board, BoardTile.O, geometry.indexOf(7, 8));
+        MonteCarloTreeSearch search = new MonteCarloTreeSearch(100);
+
+        int tile = search.search(board, BoardTile.X, 2_000, null, 1);
+
+        assertThat(board.isEmpty(tile)).isTrue();
+        assertThat(search.getNodeCount()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void search_DeadlinePassed_StopsAfterOnePlayout() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        board.place(12, BoardTile.X);
+        MonteCarloTreeSearch search = new MonteCarloTreeSearch(10_000);
+        search.setDeadline(System.nanoTime() - 1);
+
+        int tile = search.search(board, BoardTile.O, 100_000, null, 1);
+
+        assertThat(board.isEmpty(tile)).isTrue();
+        assertThat(search.getPlayouts()).isEqualTo(1);
+    }
+
+    @Test
+    void search_FullBoard_NoTile() {
+        GridBoard board = new GridBoard(BoardGeometry.of(3, 4, 3));
+        for (int tile = 0; tile < 12; tile++) {
+            board.place(tile, tile % 2 == 0 ? BoardTile.X : BoardTile.O);
+        }
+
+        assertThat(new MonteCarloTreeSearch(100).search(board, BoardTile.X, 100, null, 1)).isEqualTo(Board.NO_TILE);
+    }
+
+    private static void placeAll(GridBoard board, BoardTile boardTile, int... tiles) {
+        for (int tile : tiles) {
+            board.place(tile, boardTile);
+        }
+    }
+}
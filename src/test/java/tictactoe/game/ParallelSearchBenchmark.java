@@ -0,0 +1,80 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to search a 15x15 Gomoku middle game with 1, 2, 4 and 8 threads, and the speedup over 1 thread.
+ * Run with "./gradlew searchBenchmark"; it is left out of the regular test run.
+ */
+@Tag("benchmark")
+class ParallelSearchBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int DEPTH = 6;
+    private static final long NODE_BUDGET = Long.MAX_VALUE;
+    private static final int RUNS = 5;
+
+    @Test
+    void findBestMove_GomokuMiddleGame_ReportSpeedup() {
+        GridBoard board = createMiddleGame();
+
+        System.out.printf("Parallel search, 15x15 to 5, depth %d, %d processors available%n",
+                DEPTH, Runtime.getRuntime().availableProcessors());
+
+        double singleThreadMillis = 0;
+        for (int threads : THREADS) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads - 1));
+            try {
+                ParallelSearch search = new ParallelSearch(executor, threads);
+
+                // warm up
+                search.findBestMove(board, BoardTile.X, DEPTH, NODE_BUDGET, newTable());
+
+                long elapsed = 0;
+                for (int run = 0; run < RUNS; run++) {
+                    TranspositionTable table = newTable();
+                    long start = System.nanoTime();
+                    int tile = search.findBestMove(board, BoardTile.X, DEPTH, NODE_BUDGET, table);
+                    elapsed += System.nanoTime() - start;
+
+                    assertThat(board.isEmpty(tile)).isTrue();
+                }
+
+                double millis = elapsed / 1e6 / RUNS;
+                if (threads == 1) {
+                    singleThreadMillis = millis;
+                }
+                System.out.printf("%d thread(s): %8.1f ms per move, speedup %.2fx%n",
+                        threads, millis, singleThreadMillis / millis);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static GridBoard createMiddleGame() {
+        BoardGeometry geometry = BoardGeometry.of(15, 15, 5);
+        GridBoard board = new GridBoard(geometry);
+        //@formatter:off
+        int[][] xTiles = {{7, 7}, {8, 8}, {6, 8}, {8, 6}};
+        int[][] oTiles = {{7, 8}, {6, 6}, {9, 9}, {7, 6}};
+        //@formatter:on
+        for (int[] tile : xTiles) {
+            board.place(geometry.indexOf(tile[0], tile[1]), BoardTile.X);
+        }
+        for (int[] tile : oTiles) {
+            board.place(geometry.indexOf(tile[0], tile[1]), BoardTile.O);
+        }
+        return board;
+    }
+
+    private static TranspositionTable newTable() {
+        return new TranspositionTable(16, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+}
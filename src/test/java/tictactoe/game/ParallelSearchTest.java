@@ -0,0 +1,73 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelSearchTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findBestMove_CanWin_TakesWin() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(2, 0), geometry.indexOf(2, 1), geometry.indexOf(2, 2));
+        placeAll(board, BoardTile.O, geometry.indexOf(0, 0), geometry.indexOf(0, 1), geometry.indexOf(0, 2));
+
+        int tile = new ParallelSearch(executor, 4).findBestMove(board, BoardTile.X, 4, 100_000, newTable());
+
+        assertThat(tile).isEqualTo(geometry.indexOf(2, 3));
+        assertThat(board.getMoveCount()).isEqualTo(6);
+    }
+
+    @Test
+    void findBestMove_OpponentCanWin_Blocks() {
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(0, 1), geometry.indexOf(1, 1), geometry.indexOf(2, 1));
+        placeAll(board, BoardTile.O, geometry.indexOf(4, 4), geometry.indexOf(4, 3));
+
+        int tile = new ParallelSearch(executor, 4).findBestMove(board, BoardTile.O, 4, 100_000, newTable());
+
+        assertThat(tile).isEqualTo(geometry.indexOf(3, 1));
+    }
+
+    @Test
+    void findBestMove_ExecutorRejectsHelpers_SearchesAlone() {
+        executor.shutdownNow();
+        GridBoard board = new GridBoard(BoardGeometry.of(5, 5, 4));
+        BoardGeometry geometry = board.getGeometry();
+        placeAll(board, BoardTile.X, geometry.indexOf(2, 0), geometry.indexOf(2, 1), geometry.indexOf(2, 2));
+        placeAll(board, BoardTile.O, geometry.indexOf(0, 0), geometry.indexOf(0, 1), geometry.indexOf(0, 2));
+
+        int tile = new ParallelSearch(executor, 4).findBestMove(board, BoardTile.X, 4, 100_000, newTable());
+
+        assertThat(tile).isEqualTo(geometry.indexOf(2, 3));
+    }
+
+    private static TranspositionTable newTable() {
+        return new TranspositionTable(1, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+
+    private static void placeAll(GridBoard board, BoardTile boardTile, int... tiles) {
+        for (int tile : tiles) {
+            board.place(tile, boardTile);
+        }
+    }
+}
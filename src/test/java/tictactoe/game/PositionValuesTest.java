@@ -0,0 +1,40 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionValuesTest {
+
+    @Test
+    void valueOf_EmptyBoard_Draw() {
+        assertThat(PositionValues.valueOf(new Board(), BoardTile.X)).isEqualTo(PositionValues.DRAW);
+    }
+
+    @Test
+    void valueOfMove_CenterAnsweredWithEdge_XForksAndWins() {
+        Board board = Board.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("", "", ""),
+                Arrays.asList("", "x", ""),
+                Arrays.asList("", "", "")
+        ));//@formatter:on
+
+        assertThat(PositionValues.valueOfMove(board, BoardTile.O, 0)).isEqualTo(PositionValues.DRAW);
+        assertThat(PositionValues.valueOfMove(board, BoardTile.O, 1)).isEqualTo(PositionValues.LOSS);
+        assertThat(board.isEmpty(1)).isTrue();
+    }
+
+    @Test
+    void valueOf_TwoOpenThreats_Win() {
+        Board board = Board.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("x", "x", ""),
+                Arrays.asList("x", "o", ""),
+                Arrays.asList("", "", "o")
+        ));//@formatter:on
+
+        assertThat(PositionValues.valueOf(board, BoardTile.O)).isEqualTo(PositionValues.LOSS);
+        assertThat(PositionValues.valueOf(board, BoardTile.X)).isEqualTo(PositionValues.WIN);
+    }
+}
@@ -0,0 +1,68 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseTableTest {
+
+    private final ResponseTable responseTable = ResponseTable.create();
+
+    @Test
+    void getPositionKey_EveryKey_RoundTripsThroughBoard() {
+        for (int positionKey = 0; positionKey < Board.POSITION_COUNT; positionKey++) {
+            assertThat(Board.fromPositionKey(positionKey).getPositionKey()).isEqualTo(positionKey);
+        }
+    }
+
+    @Test
+    void getResponse_EveryPosition_SameAsPriorityRules() {
+        for (int positionKey = 0; positionKey < Board.POSITION_COUNT; positionKey++) {
+            Board board = Board.fromPositionKey(positionKey);
+            for (BoardTile boardTile : new BoardTile[]{BoardTile.X, BoardTile.O}) {
+                assertThat(responseTable.getResponse(board, boardTile))
+                        .as("position %s, %s to move", positionKey, boardTile)
+                        .isEqualTo(ComputerPlayerService.chooseRuleTile(board, boardTile));
+            }
+        }
+    }
+
+    @Test
+    void getRule_EveryPosition_SameAsPriorityRules() {
+        for (int positionKey = 0; positionKey < Board.POSITION_COUNT; positionKey++) {
+            Board board = Board.fromPositionKey(positionKey);
+            for (BoardTile boardTile : new BoardTile[]{BoardTile.X, BoardTile.O}) {
+                int decision = ComputerPlayerService.chooseRuleDecision(board, boardTile);
+                assertThat(responseTable.getRule(board, boardTile))
+                        .as("position %s, %s to move", positionKey, boardTile)
+                        .isEqualTo(ComputerPlayerService.decisionRule(decision));
+            }
+        }
+    }
+
+    @Test
+    void getRule_OpponentHasTwoInARow_Block() {
+        Board board = Board.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("o", "o", ""),
+                Arrays.asList("x", "", ""),
+                Arrays.asList("", "", "")
+        ));//@formatter:on
+
+        assertThat(responseTable.getRule(board, BoardTile.X)).isEqualTo(DecisionRule.BLOCK);
+        assertThat(responseTable.getResponse(board, BoardTile.X)).isEqualTo(2);
+    }
+
+    @Test
+    void getResponse_NoRuleApplies_NoTile() {
+        Board board = Board.fromRows(Arrays.asList(//@formatter:off
+                Arrays.asList("o", "", "x"),
+                Arrays.asList("x", "x", "o"),
+                Arrays.asList("o", "", "x")
+        ));//@formatter:on
+
+        assertThat(responseTable.getResponse(board, BoardTile.O)).isEqualTo(Board.NO_TILE);
+        assertThat(responseTable.getRule(board, BoardTile.O)).isEqualTo(DecisionRule.RANDOM);
+    }
+}
@@ -0,0 +1,101 @@
+package tictactoe.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranspositionTableTest {
+
+    @Test
+    void new_OneMegabyte_PowerOfTwoEntriesWithinCap() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.ALWAYS);
+
+        assertThat(table.getCapacity()).isEqualTo(65_536);
+    }
+
+    @Test
+    void probe_AfterStore_ReturnsPackedEntry() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.ALWAYS);
+
+        table.store(42L, -1234, 5, TranspositionTable.LOWER_BOUND, 17);
+        long entry = table.probe(42L);
+
+        assertThat(TranspositionTable.scoreOf(entry)).isEqualTo(-1234);
+        assertThat(TranspositionTable.depthOf(entry)).isEqualTo(5);
+        assertThat(TranspositionTable.boundOf(entry)).isEqualTo(TranspositionTable.LOWER_BOUND);
+        assertThat(TranspositionTable.moveOf(entry)).isEqualTo(17);
+        assertThat(table.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void probe_OtherKeyInSlot_MissAndCollision() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.ALWAYS);
+        long key = 7L;
+        long sameSlotKey = key + table.getCapacity();
+
+        table.store(key, 1, 1, TranspositionTable.EXACT, Board.NO_TILE);
+
+        assertThat(table.probe(sameSlotKey)).isEqualTo(TranspositionTable.NO_ENTRY);
+        assertThat(table.probe(8L)).isEqualTo(TranspositionTable.NO_ENTRY);
+        assertThat(table.getMisses()).isEqualTo(2);
+        assertThat(table.getCollisions()).isEqualTo(1);
+    }
+
+    @Test
+    void store_DepthPreferredShallowerEntry_KeepsDeeperEntry() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.DEPTH_PREFERRED);
+        long key = 7L;
+        long sameSlotKey = key + table.getCapacity();
+
+        table.store(key, 1, 6, TranspositionTable.EXACT, 3);
+        table.store(sameSlotKey, 2, 2, TranspositionTable.EXACT, 4);
+
+        assertThat(TranspositionTable.moveOf(table.probe(key))).isEqualTo(3);
+    }
+
+    @Test
+    void store_DepthPreferredAfterNewSearch_ReplacesOldEntry() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.DEPTH_PREFERRED);
+        long key = 7L;
+        long sameSlotKey = key + table.getCapacity();
+
+        table.store(key, 1, 6, TranspositionTable.EXACT, 3);
+        table.newSearch();
+        table.store(sameSlotKey, 2, 2, TranspositionTable.EXACT, 4);
+
+        assertThat(TranspositionTable.moveOf(table.probe(sameSlotKey))).isEqualTo(4);
+    }
+
+    @Test
+    void getCanonicalHash_RotatedAndMirroredPositions_SameHash() {
+        BoardGeometry geometry = BoardGeometry.of(5, 5, 4);
+        GridBoard board = new GridBoard(geometry);
+        board.place(geometry.indexOf(0, 1), BoardTile.X);
+        board.place(geometry.indexOf(3, 2), BoardTile.O);
+
+        for (int[] symmetry : geometry.symmetries) {
+            GridBoard transformed = new GridBoard(geometry);
+            transformed.place(symmetry[geometry.indexOf(0, 1)], BoardTile.X);
+            transformed.place(symmetry[geometry.indexOf(3, 2)], BoardTile.O);
+
+            assertThat(transformed.getCanonicalHash()).isEqualTo(board.getCanonicalHash());
+        }
+    }
+
+    @Test
+    void findBestMove_WithTable_SameScoreAsWithout() {
+        GridBoard board = new GridBoard(BoardGeometry.of(4, 4, 3));
+        board.place(5, BoardTile.X);
+        board.place(0, BoardTile.O);
+
+        AlphaBetaSearch plain = new AlphaBetaSearch(board, 14, Long.MAX_VALUE);
+        plain.findBestMove(BoardTile.X);
+        AlphaBetaSearch cached = new AlphaBetaSearch(
+                board, 14, Long.MAX_VALUE, new TranspositionTable(1, ReplacementPolicy.DEPTH_PREFERRED)
+        );
+        cached.findBestMove(BoardTile.X);
+
+        assertThat(cached.getBestScore()).isEqualTo(plain.getBestScore());
+        assertThat(cached.getNodes()).isLessThan(plain.getNodes());
+    }
+}
@@ -0,0 +1,100 @@
+package tictactoe.game.entity;
+
+import org.junit.jupiter.api.Test;
+import tictactoe.game.BoardVariant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardRowsConverterTest {
+
+    private final BoardRowsConverter converter = new BoardRowsConverter();
+
+    @Test
+    void convertToDatabaseColumn_ClassicBoard_TwoByteBase3Number() {
+        List<List<String>> rows = Arrays.asList(//@formatter:off
+                Arrays.asList("x", "", ""),
+                Arrays.asList("", "o", ""),
+                Arrays.asList("", "", "x")
+        );//@formatter:on
+
+        byte[] board = converter.convertToDatabaseColumn(rows);
+
+        // top left the least significant digit: 1 + 2 * 3^4 + 1 * 3^8 = 6724
+        assertThat(board).containsExactly(6724 >>> 8, 6724 & 0xFF);
+    }
+
+    @Test
+    void convertToDatabaseColumn_GomokuBoard_CountsThenFiveTilesAByte() {
+        byte[] board = converter.convertToDatabaseColumn(partlyFilled(BoardVariant.GOMOKU));
+
+        assertThat(board).hasSize(2 + 45);
+        assertThat(board[0]).isEqualTo((byte) 15);
+        assertThat(board[1]).isEqualTo((byte) 15);
+    }
+
+    @Test
+    void convertToEntityAttribute_EveryVariant_RoundTrips() {
+        for (BoardVariant variant : BoardVariant.values()) {
+            List<List<String>> rows = partlyFilled(variant);
+
+            List<List<String>> converted = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(rows));
+
+            assertThat(converted).as(variant.name()).isEqualTo(rows);
+        }
+    }
+
+    @Test
+    void convertToEntityAttribute_FullClassicBoard_RoundTrips() {
+        List<List<String>> rows = Arrays.asList(//@formatter:off
+                Arrays.asList("o", "o", "o"),
+                Arrays.asList("o", "o", "o"),
+                Arrays.asList("o", "o", "o")
+        );//@formatter:on
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(rows))).isEqualTo(rows);
+    }
+
+    @Test
+    void convertToEntityAttribute_Board_RowsCanBeChanged() {
+        List<List<String>> rows = converter.convertToEntityAttribute(
+                converter.convertToDatabaseColumn(partlyFilled(BoardVariant.CLASSIC))
+        );
+
+        rows.get(1).set(1, "x");
+
+        assertThat(rows.get(1).get(1)).isEqualTo("x");
+    }
+
+    @Test
+    void convert_Null_Null() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void convertToDatabaseColumn_UnknownTile_ThrowException() {
+        List<List<String>> rows = partlyFilled(BoardVariant.CLASSIC);
+        rows.get(0).set(0, "z");
+
+        assertThatThrownBy(() -> converter.convertToDatabaseColumn(rows))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<List<String>> partlyFilled(BoardVariant variant) {
+        List<List<String>> rows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < variant.getRowCount(); rowIndex++) {
+            List<String> row = new ArrayList<>();
+            for (int columnIndex = 0; columnIndex < variant.getColumnCount(); columnIndex++) {
+                int tile = (rowIndex * 7 + columnIndex * 5) % 3;
+                row.add(tile == 0 ? "" : tile == 1 ? "x" : "o");
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
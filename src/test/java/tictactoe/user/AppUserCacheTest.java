@@ -0,0 +1,186 @@
+package tictactoe.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tictactoe.user.entity.AppUser;
+import tictactoe.user.entity.AppUserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AppUserCacheTest {
+
+    private static final long TTL_MILLIS = 1000;
+
+    @Mock
+    private AppUserRepository mockRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private long nanoTime;
+
+    private AppUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheOf(2);
+    }
+
+    @Test
+    void findByUsername_LookedUpTwice_LoadedOnce() {
+        when(mockRepository.findByUsername("horatio")).thenReturn(userOf(1L, "horatio"));
+
+        AppUser first = cache.findByUsername("horatio");
+        AppUser second = cache.findByUsername("horatio");
+
+        verify(mockRepository, times(1)).findByUsername("horatio");
+        assertThat(second.getId()).isEqualTo(1L);
+        assertThat(second).isNotSameAs(first);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void findById_LoadedByUsername_NotLoadedAgain() {
+        when(mockRepository.findByUsername("horatio")).thenReturn(userOf(1L, "horatio"));
+        cache.findByUsername("horatio");
+
+        AppUser appUser = cache.findById(1L);
+
+        assertThat(appUser.getUsername()).isEqualTo("horatio");
+        verify(mockRepository, never()).findById(1L);
+    }
+
+    @Test
+    void findByUsername_TtlUp_LoadedAgain() {
+        when(mockRepository.findByUsername("horatio")).thenReturn(userOf(1L, "horatio"));
+        cache.findByUsername("horatio");
+
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(TTL_MILLIS);
+        cache.findByUsername("horatio");
+
+        verify(mockRepository, times(2)).findByUsername("horatio");
+        assertThat(registry.get("tictactoe.user.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByUsername_MoreThanMaxUsers_LeastRecentDropped() {
+        when(mockRepository.findByUsername("horatio")).thenReturn(userOf(1L, "horatio"));
+        when(mockRepository.findByUsername("kevin")).thenReturn(userOf(2L, "kevin"));
+        when(mockRepository.findById(3L)).thenReturn(Optional.of(userOf(3L, "ada")));
+        cache.findByUsername("horatio");
+        cache.findByUsername("kevin");
+        cache.findByUsername("horatio");
+
+        cache.findById(3L);
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.findByUsername("horatio");
+        cache.findByUsername("kevin");
+        verify(mockRepository, times(1)).findByUsername("horatio");
+        verify(mockRepository, times(2)).findByUsername("kevin");
+    }
+
+    @Test
+    void findByUsername_NotFound_NotKept() {
+        cache.findByUsername("nobody");
+        cache.findByUsername("nobody");
+
+        verify(mockRepository, times(2)).findByUsername("nobody");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void updateCurrentGameId_UserKept_SeenWithoutLoading() {
+        when(mockRepository.findByUsername("horatio")).thenReturn(userOf(1L, "horatio"));
+        cache.findByUsername("horatio");
+
+        cache.updateCurrentGameId(1L, 7L);
+
+        assertThat(cache.findByUsername("horatio").getCurrentGameId()).isEqualTo(7L);
+        verify(mockRepository).updateCurrentGameId(1L, 7L);
+        verify(mockRepository, times(1)).findByUsername("horatio");
+    }
+
+    @Test
+    void updateCurrentGameId_TransactionRolledBack_KeptUserUnchanged() {
+        AppUser appUser = userOf(1L, "horatio");
+        appUser.setCurrentGameId(3L);
+        when(mockRepository.findByUsername("horatio")).thenReturn(appUser);
+        cache.findByUsername("horatio");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.updateCurrentGameId(1L, 7L);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.findByUsername("horatio").getCurrentGameId()).isEqualTo(3L);
+    }
+
+    @Test
+    void save_UserKept_LoadedAgain() {
+        AppUser appUser = userOf(1L, "horatio");
+        when(mockRepository.findByUsername("horatio")).thenReturn(appUser);
+        when(mockRepository.save(appUser)).thenReturn(appUser);
+        cache.findByUsername("horatio");
+
+        cache.save(appUser);
+        cache.findByUsername("horatio");
+
+        verify(mockRepository, times(2)).findByUsername("horatio");
+    }
+
+    @Test
+    void findByUsername_MaxUsersZero_AlwaysLoaded() {
+        cache = cacheOf(0);
+        when(mockRepository.findByUsername("horatio")).thenReturn(userOf(1L, "horatio"));
+
+        cache.findByUsername("horatio");
+        cache.findByUsername("horatio");
+
+        verify(mockRepository, times(2)).findByUsername("horatio");
+    }
+
+    @Test
+    void invalidate_UserNotKept_NothingLoaded() {
+        cache.invalidate(1L);
+
+        verifyNoInteractions(mockRepository);
+    }
+
+    private AppUserCache cacheOf(int maxUsers) {
+        AppUserCacheProperties properties = new AppUserCacheProperties();
+        properties.setMaxUsers(maxUsers);
+        properties.setTtlMillis(TTL_MILLIS);
+        return new AppUserCache(mockRepository, registry, properties, () -> nanoTime);
+    }
+
+    private double gets(String result) {
+        return registry.get("tictactoe.user.cache.gets").tag("result", result).counter().count();
+    }
+
+    private static AppUser userOf(Long id, String username) {
+        AppUser appUser = new AppUser();
+        appUser.setId(id);
+        appUser.setUsername(username);
+        return appUser;
+    }
+}
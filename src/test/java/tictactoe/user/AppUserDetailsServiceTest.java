@@ -12,10 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import tictactoe.user.entity.AppUser;
-import tictactoe.user.entity.AppUserRepository;
 
 @ExtendWith(MockitoExtension.class)
 class AppUserDetailsServiceTest {
@@ -23,11 +24,11 @@ class AppUserDetailsServiceTest {
     private AppUserDetailsService service;
 
     @Mock
-    private AppUserRepository mockRepository;
+    private AppUserCache mockAppUserCache;
 
     @BeforeEach
     void setUp() {
-        service = new AppUserDetailsService(mockRepository);
+        service = new AppUserDetailsService(mockAppUserCache);
     }
 
     @Test
@@ -35,11 +36,11 @@ class AppUserDetailsServiceTest {
         AppUser appUser = new AppUser();
         appUser.setUsername("test-username");
         appUser.setPassword("test-password");
-        when(mockRepository.findByUsername(anyString())).thenReturn(appUser);
+        when(mockAppUserCache.findByUsername(anyString())).thenReturn(appUser);
 
         UserDetails userDetails = service.loadUserByUsername("test-username");
 
-        verify(mockRepository).findByUsername(appUser.getUsername());
+        verify(mockAppUserCache).findByUsername(appUser.getUsername());
 
         assertThat(userDetails.getUsername()).isEqualTo(appUser.getUsername());
         assertThat(userDetails.getPassword()).isEqualTo(appUser.getPassword());
@@ -51,10 +52,21 @@ class AppUserDetailsServiceTest {
 
     @Test
     void loadUserByUsername_InvalidUsername_ThrowException() {
-        when(mockRepository.findByUsername(anyString())).thenReturn(null);
+        when(mockAppUserCache.findByUsername(anyString())).thenReturn(null);
 
         assertThatThrownBy(() -> service.loadUserByUsername("test-username"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessage("Invalid username: test-username");
     }
+
+    @Test
+    void updatePassword_UpgradedHash_SavedAndReturned() {
+        UserDetails user = new User("test-username", "old-hash", AuthorityUtils.createAuthorityList("USER"));
+
+        UserDetails updated = service.updatePassword(user, "new-hash");
+
+        verify(mockAppUserCache).updatePassword("test-username", "new-hash");
+        assertThat(updated.getUsername()).isEqualTo("test-username");
+        assertThat(updated.getPassword()).isEqualTo("new-hash");
+    }
 }
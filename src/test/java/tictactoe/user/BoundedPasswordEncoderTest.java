@@ -0,0 +1,108 @@
+package tictactoe.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private static final int STRENGTH = 4;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void matches_EncodedPassword_True() {
+        encoder = encoderOf(BoundedPasswordEncoder.createDelegatingEncoder(STRENGTH), 1, 1);
+
+        String encoded = encoder.encode("hertz");
+
+        assertThat(encoded).startsWith("{bcrypt}");
+        assertThat(encoder.matches("hertz", encoded)).isTrue();
+        assertThat(encoder.matches("herz", encoded)).isFalse();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    void matches_UnprefixedHash_TrueAndUpgraded() {
+        encoder = encoderOf(BoundedPasswordEncoder.createDelegatingEncoder(STRENGTH), 1, 1);
+        String encoded = new BCryptPasswordEncoder(STRENGTH).encode("hertz");
+
+        assertThat(encoder.matches("hertz", encoded)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_WeakerHash_True() {
+        encoder = encoderOf(BoundedPasswordEncoder.createDelegatingEncoder(STRENGTH + 1), 1, 1);
+        String encoded = BoundedPasswordEncoder.createDelegatingEncoder(STRENGTH).encode("hertz");
+
+        assertThat(encoder.upgradeEncoding(encoded)).isTrue();
+    }
+
+    @Test
+    void matches_QueueFull_RejectedAtOnceNotAsBadCredentials() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        encoder = encoderOf(blocking, 1, 1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        awaitGauge("tictactoe.password.active", 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        awaitGauge("tictactoe.password.queue", 1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "c"))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .isNotInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("try again shortly");
+        assertThat(registry.get("tictactoe.password.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private BoundedPasswordEncoder encoderOf(PasswordEncoder delegate, int threads, int queueSize) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setThreads(threads);
+        properties.setQueueSize(queueSize);
+        return new BoundedPasswordEncoder(delegate, properties, registry);
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get(name).gauge().value() != value) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
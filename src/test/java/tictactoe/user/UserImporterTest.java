@@ -0,0 +1,165 @@
+package tictactoe.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class UserImporterTest {
+
+    @Mock
+    private JdbcTemplate mockJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    private UserImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(2);
+        properties.setThreads(2);
+        importer = new UserImporter(
+                mockJdbcTemplate, "next value for hibernate_sequence", mockTransactionManager, new ObjectMapper(),
+                new PrefixEncoder(), properties
+        );
+    }
+
+    @Test
+    void importUsers_Csv_InsertedInBatchesInOrder() throws Exception {
+        String csv = "username,password\nada,a1\nbob,b2\n\"c,d\",\"say \"\"hi\"\"\"\neve,e4\nfay,f5\n";
+
+        UserImporter.Result result = importer.importUsers(readerOf(csv), false);
+
+        assertThat(result.getImported()).isEqualTo(5);
+        assertThat(result.getSkipped()).isZero();
+        verify(mockJdbcTemplate, times(3)).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(insertedUsers()).containsExactly(
+                "ada:hash-a1", "bob:hash-b2", "c,d:hash-say \"hi\"", "eve:hash-e4", "fay:hash-f5"
+        );
+    }
+
+    @Test
+    void importUsers_MalformedLines_SkippedAndCounted() throws Exception {
+        String csv = "ada,a1\n\nno password\nbob,\n,b2\ncy,c3,extra\nbob,b2\n";
+
+        UserImporter.Result result = importer.importUsers(readerOf(csv), false);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(5);
+        verify(mockJdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(insertedUsers()).containsExactly("ada:hash-a1", "bob:hash-b2");
+    }
+
+    @Test
+    void importFile_Ndjson_UsersInserted(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("users.ndjson");
+        Files.write(file, Arrays.asList(
+                "{\"username\": \"ada\", \"password\": \"a1\"}",
+                "{\"username\": \"bob\"}",
+                "not json",
+                "{\"username\": \"cy\", \"password\": \"c3\"}"
+        ));
+
+        UserImporter.Result result = importer.importFile(file);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        verify(mockJdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(insertedUsers()).containsExactly("ada:hash-a1", "cy:hash-c3");
+    }
+
+    @Test
+    void importUsers_UsernamesTaken_SkippedAsDuplicates() throws Exception {
+        when(mockJdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(Collections.singletonList("bob"));
+
+        UserImporter.Result result = importer.importUsers(readerOf("ada,a1\nada,a2\nbob,b2\n"), false);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        verify(mockJdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(insertedUsers()).containsExactly("ada:hash-a1");
+    }
+
+    @Test
+    void importUsers_NoSequences_Refused() {
+        UserImportProperties properties = new UserImportProperties();
+        importer = new UserImporter(
+                mockJdbcTemplate, null, mockTransactionManager, new ObjectMapper(), new PrefixEncoder(), properties
+        );
+
+        assertThatThrownBy(() -> importer.importUsers(readerOf("ada,a1\n"), false))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void importUsers_Empty_NothingInserted() throws Exception {
+        UserImporter.Result result = importer.importUsers(readerOf(""), false);
+
+        assertThat(result.getImported()).isZero();
+        verify(mockJdbcTemplate, never()).batchUpdate(anyString(), batchCaptor.capture());
+    }
+
+    private List<String> insertedUsers() {
+        List<String> users = new ArrayList<>();
+        for (List<Object[]> batch : batchCaptor.getAllValues()) {
+            for (Object[] user : batch) {
+                users.add(user[0] + ":" + user[1]);
+            }
+        }
+        return users;
+    }
+
+    private static BufferedReader readerOf(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+
+    /**
+     * Stands in for BCrypt, which would take most of the test's time.
+     */
+    private static class PrefixEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}